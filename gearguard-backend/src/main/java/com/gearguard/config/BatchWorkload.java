@@ -0,0 +1,22 @@
+package com.gearguard.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method (or every method of a service) on the batch
+ * connection pool, which is small, writable and has no statement timeout,
+ * for scheduled jobs and maintenance work that legitimately runs long.
+ *
+ * Like {@link ReportingWorkload}, takes effect when the method opens its own
+ * transaction; work handed to another thread must carry the workload itself
+ * (see {@link WorkloadRoutingDataSource#callIn}).
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BatchWorkload {
+}
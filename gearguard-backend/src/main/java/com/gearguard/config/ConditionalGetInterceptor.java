@@ -0,0 +1,92 @@
+package com.gearguard.config;
+
+import com.gearguard.service.DataVersionService;
+import com.gearguard.service.DataVersionService.Scope;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers conditional GETs for a list endpoint from data version counters.
+ *
+ * The ETag combines the caller, the versions of every table the endpoint
+ * reads and an optional time bucket for payloads with relative times. A
+ * matching If-None-Match gets 304 before the controller runs; otherwise the
+ * tag is attached and the request proceeds on the primary, whose data the
+ * versions describe.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final DataVersionService dataVersions;
+    private final Scope[] scopes;
+    private final long bucketSeconds;
+
+    public ConditionalGetInterceptor(DataVersionService dataVersions, long bucketSeconds, Scope... scopes) {
+        this.dataVersions = dataVersions;
+        this.bucketSeconds = bucketSeconds;
+        this.scopes = scopes;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+
+        String etag = etag(request);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // Let browsers keep the body but revalidate on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        ReplicaRouter.pinToPrimary();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ReplicaRouter.unpin();
+    }
+
+    private String etag(HttpServletRequest request) {
+        // Same URL, different user: never share a tag
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String principal = auth != null ? auth.getName() : "";
+
+        StringBuilder tag = new StringBuilder("\"")
+                .append(Integer.toHexString(principal.hashCode()));
+        // Same path, different query (e.g. a widget subset): different tag
+        if (request.getQueryString() != null) {
+            tag.append('.').append(Integer.toHexString(request.getQueryString().hashCode()));
+        }
+        for (Scope scope : scopes) {
+            tag.append('.').append(dataVersions.current(scope));
+        }
+        if (bucketSeconds > 0) {
+            tag.append('.').append(System.currentTimeMillis() / 1000 / bucketSeconds);
+        }
+        return tag.append('"').toString();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag) || value.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -27,10 +27,10 @@ public class CorsConfig {
                                 "GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
 
                 configuration.setAllowedHeaders(Arrays.asList(
-                                "Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin"));
+                                "Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin", "If-Match", "If-None-Match"));
 
                 configuration.setExposedHeaders(Arrays.asList(
-                                "Authorization", "Content-Disposition"));
+                                "Authorization", "Content-Disposition", "ETag"));
 
                 configuration.setAllowCredentials(true);
                 configuration.setMaxAge(3600L);
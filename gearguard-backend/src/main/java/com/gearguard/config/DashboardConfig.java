@@ -0,0 +1,12 @@
+package com.gearguard.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Widget cache and timeout settings for {@link com.gearguard.service.DashboardService}.
+ */
+@Configuration
+@EnableConfigurationProperties(DashboardProperties.class)
+public class DashboardConfig {
+}
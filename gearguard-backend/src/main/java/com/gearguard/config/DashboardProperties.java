@@ -0,0 +1,29 @@
+package com.gearguard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dashboard widget caching and time budget, bound from {@code app.dashboard.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.dashboard")
+public class DashboardProperties {
+
+    // Longest a request waits for its widgets before answering with what it has
+    private Duration timeout = Duration.ofSeconds(2);
+
+    // Upper bound on a cached widget's age; a change to its tables refreshes it sooner
+    private Duration defaultTtl = Duration.ofSeconds(30);
+
+    // Per widget overrides, keyed by widget name (summary, teams, status, categories, activity)
+    private Map<String, Duration> ttl = new HashMap<>();
+
+    public Duration ttl(String widget) {
+        return ttl.getOrDefault(widget, defaultTtl);
+    }
+}
@@ -0,0 +1,122 @@
+package com.gearguard.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One connection pool per workload so a long report or job cannot hold the
+ * connections Kanban writes are waiting for:
+ * <ul>
+ *   <li>oltp - interactive traffic; tight statement timeout</li>
+ *   <li>reporting - {@link ReportingWorkload} methods; small, read-only, long
+ *       statement timeout, optionally pointed at a read replica</li>
+ *   <li>batch - {@link BatchWorkload} methods, which include every job run
+ *       through ScheduledJobRunner; small, writable, no statement timeout</li>
+ *   <li>replica-N - read-only OLTP transactions, see {@link ReplicaRouter}</li>
+ * </ul>
+ * All publish hikaricp.connections.* gauges (active, idle, pending, timeout,
+ * usage, acquire) tagged with the pool name.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    public ReplicaRouter replicaRouter(DataSourceProperties primary, DataSourcePoolProperties properties,
+            MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            DataSourcePoolProperties.Pool replica = properties.getReplicas().get(i);
+            replica.setReadOnly(true);
+            pools.add(buildPool("replica-" + i, replica, primary, meterRegistry));
+        }
+        return new ReplicaRouter(pools, properties.getReplicaMaxLag(), properties.getReadYourWritesWindow(),
+                meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primary, DataSourcePoolProperties properties,
+            MeterRegistry meterRegistry, ReplicaRouter replicaRouter) {
+        Map<WorkloadRoutingDataSource.Workload, HikariDataSource> pools = new EnumMap<>(WorkloadRoutingDataSource.Workload.class);
+        pools.put(WorkloadRoutingDataSource.Workload.OLTP,
+                buildPool("oltp", properties.getOltp(), primary, meterRegistry));
+        pools.put(WorkloadRoutingDataSource.Workload.REPORTING,
+                buildPool("reporting", properties.getReporting(), primary, meterRegistry));
+        pools.put(WorkloadRoutingDataSource.Workload.BATCH,
+                buildPool("batch", properties.getBatch(), primary, meterRegistry));
+        return new ClosingLazyConnectionDataSourceProxy(new WorkloadRoutingDataSource(pools, replicaRouter));
+    }
+
+    // Partitioned tables are converted before Hibernate's schema update, so it sees their final shape
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor partitionConverterDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("partitionConverter");
+    }
+
+    // Keeps the committing user on the primary so they read their own write
+    @Bean
+    public TransactionExecutionListener readYourWritesListener(ReplicaRouter replicaRouter) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null && !transaction.isReadOnly()) {
+                    replicaRouter.recordWrite();
+                }
+            }
+        };
+    }
+
+    private HikariDataSource buildPool(String name, DataSourcePoolProperties.Pool pool, DataSourceProperties primary,
+            MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setDriverClassName(primary.determineDriverClassName());
+        config.setJdbcUrl(StringUtils.hasText(pool.getUrl()) ? pool.getUrl() : primary.determineUrl());
+        config.setUsername(StringUtils.hasText(pool.getUsername()) ? pool.getUsername() : primary.determineUsername());
+        config.setPassword(StringUtils.hasText(pool.getPassword()) ? pool.getPassword() : primary.determinePassword());
+        config.setMaximumPoolSize(pool.getMaximumPoolSize());
+        config.setMinimumIdle(Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()));
+        config.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+        config.setIdleTimeout(pool.getIdleTimeout().toMillis());
+        config.setReadOnly(pool.isReadOnly());
+        if (!pool.getStatementTimeout().isZero()) {
+            config.setConnectionInitSql("SET statement_timeout = " + pool.getStatementTimeout().toMillis());
+        }
+        config.setMetricRegistry(meterRegistry);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Defers taking a connection until the first statement, by which time the
+     * transaction's read-only flag is known, and closes the pools on shutdown.
+     */
+    private static class ClosingLazyConnectionDataSourceProxy extends LazyConnectionDataSourceProxy
+            implements Closeable {
+
+        ClosingLazyConnectionDataSourceProxy(WorkloadRoutingDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public void close() {
+            ((WorkloadRoutingDataSource) obtainTargetDataSource()).close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.gearguard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection pools per workload, bound from {@code app.datasource.*}.
+ * Connection settings left blank fall back to {@code spring.datasource.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourcePoolProperties {
+
+    @Data
+    public static class Pool {
+        private String url;
+        private String username;
+        private String password;
+
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+        private Duration idleTimeout = Duration.ofMinutes(5);
+
+        // Enforced by the server per statement; zero means no limit
+        private Duration statementTimeout = Duration.ZERO;
+
+        private boolean readOnly = false;
+    }
+
+    // Interactive traffic
+    private Pool oltp = new Pool();
+
+    // Methods annotated with @ReportingWorkload
+    private Pool reporting = new Pool();
+
+    // Scheduled jobs and maintenance work (@BatchWorkload)
+    private Pool batch = new Pool();
+
+    // Read-only transactions of the OLTP workload, round-robin; always read-only
+    private List<Pool> replicas = new ArrayList<>();
+
+    // Replicas further behind than this are skipped until they catch up
+    private Duration replicaMaxLag = Duration.ofSeconds(5);
+
+    private long replicaCheckIntervalMs = 5000;
+
+    // After committing a write, a user's reads stay on the primary this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,164 @@
+package com.gearguard.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named, bounded worker pools so one workload cannot starve another:
+ * <ul>
+ *   <li>email - outgoing mail ({@code @Async("emailExecutor")})</li>
+ *   <li>reports - PDF / Excel generation</li>
+ *   <li>notifications - default for unqualified {@code @Async}</li>
+ *   <li>housekeeping - background maintenance such as thumbnails</li>
+ *   <li>health - equipment health scoring, sized to the available cores</li>
+ *   <li>password - BCrypt for sign-in and password changes; sheds load when full</li>
+ *   <li>dashboard - dashboard widgets computed side by side; sheds load when full</li>
+ *   <li>bootstrap - parts of the app-start payload, loaded side by side</li>
+ * </ul>
+ * Each pool publishes executor.active / executor.queued / executor.pool.size
+ * gauges, an executor.rejected counter and executor.task.wait /
+ * executor.task.duration timers tagged with its name. Scheduled jobs get
+ * their own multi-threaded scheduler instead of Spring's single thread.
+ */
+@Configuration
+@EnableConfigurationProperties(ExecutorProperties.class)
+public class ExecutorConfig implements AsyncConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorConfig.class);
+
+    @Autowired
+    private ExecutorProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public ThreadPoolTaskExecutor emailExecutor() {
+        return buildExecutor("email");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor() {
+        return buildExecutor("reports");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        return buildExecutor("notifications");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor housekeepingExecutor() {
+        return buildExecutor("housekeeping");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor healthExecutor() {
+        return buildExecutor("health");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordExecutor() {
+        return buildExecutor("password");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor() {
+        return buildExecutor("dashboard");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor bootstrapExecutor() {
+        return buildExecutor("bootstrap");
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(properties.getSchedulerPoolSize());
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        scheduler.setErrorHandler(e -> logger.error("Scheduled job failed: {}", e.getMessage(), e));
+        return scheduler;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return notificationExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (e, method, params) -> logger.error("Async {} failed: {}", method.getName(), e.getMessage(), e);
+    }
+
+    private ThreadPoolTaskExecutor buildExecutor(String name) {
+        ExecutorProperties.Pool pool = properties.pool(name);
+        Tags tags = Tags.of("name", name);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(pool.getCorePoolSize());
+        executor.setMaxPoolSize(Math.max(pool.getCorePoolSize(), pool.getMaxPoolSize()));
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds(pool.getKeepAliveSeconds());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(pool.getAwaitTerminationSeconds());
+
+        Counter rejected = Counter.builder("executor.rejected").tags(tags).register(meterRegistry);
+        RejectedExecutionHandler policy = rejectionHandler(pool.getRejectionPolicy());
+        executor.setRejectedExecutionHandler((task, threadPool) -> {
+            rejected.increment();
+            policy.rejectedExecution(task, threadPool);
+        });
+
+        Timer wait = Timer.builder("executor.task.wait").tags(tags).register(meterRegistry);
+        Timer duration = Timer.builder("executor.task.duration").tags(tags).register(meterRegistry);
+        executor.setTaskDecorator(task -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                long started = System.nanoTime();
+                wait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+
+        Gauge.builder("executor.active", executor, ThreadPoolTaskExecutor::getActiveCount).tags(tags).register(meterRegistry);
+        Gauge.builder("executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize).tags(tags).register(meterRegistry);
+        Gauge.builder("executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize).tags(tags).register(meterRegistry);
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(ExecutorProperties.RejectionPolicy policy) {
+        return switch (policy) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            default -> new ThreadPoolExecutor.AbortPolicy();
+        };
+    }
+}
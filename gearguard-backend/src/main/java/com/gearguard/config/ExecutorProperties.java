@@ -0,0 +1,39 @@
+package com.gearguard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing for the named worker pools, bound from {@code app.executors.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.executors")
+public class ExecutorProperties {
+
+    public enum RejectionPolicy {
+        ABORT, CALLER_RUNS, DISCARD, DISCARD_OLDEST
+    }
+
+    @Data
+    public static class Pool {
+        private int corePoolSize = 2;
+        private int maxPoolSize = 4;
+        private int queueCapacity = 100;
+        private int keepAliveSeconds = 60;
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+        // How long shutdown waits for queued work to drain
+        private int awaitTerminationSeconds = 30;
+    }
+
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    private int schedulerPoolSize = 4;
+
+    public Pool pool(String name) {
+        return pools.getOrDefault(name, new Pool());
+    }
+}
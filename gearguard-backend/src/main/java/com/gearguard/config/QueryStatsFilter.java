@@ -0,0 +1,73 @@
+package com.gearguard.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link RequestQueryStats} for each HTTP request and, when it ends,
+ * publishes db.statements / db.time per endpoint and warns about statement
+ * shapes repeated often enough to look like N+1 loading.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            publish(request, stats);
+        }
+    }
+
+    private void publish(HttpServletRequest request, RequestQueryStats stats) {
+        if (stats.getStatements() == 0) {
+            return;
+        }
+
+        // Route pattern, not the raw path, to keep metric cardinality bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("db.statements").tags(tags).register(meterRegistry).record(stats.getStatements());
+        Timer.builder("db.time").tags(tags).register(meterRegistry).record(stats.getDbTimeMs(), TimeUnit.MILLISECONDS);
+
+        if (nPlusOneThreshold <= 0) {
+            return;
+        }
+        Map<String, Integer> repeated = stats.repeatedShapes(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("db.n_plus_one").tags(tags).register(meterRegistry).increment();
+            repeated.forEach((shape, count) -> logger.warn("Possible N+1 on {} {}: {} x {}",
+                    request.getMethod(), uri, count, shape));
+        }
+    }
+}
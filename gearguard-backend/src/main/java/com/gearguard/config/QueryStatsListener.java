@@ -0,0 +1,84 @@
+package com.gearguard.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Receives every statement executed through the proxied DataSource: adds it
+ * to the current request's {@link RequestQueryStats} and logs it with its
+ * bind parameters when it exceeds the slow-statement threshold.
+ */
+public class QueryStatsListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.gearguard.sql.slow");
+
+    private static final int MAX_PARAM_LENGTH = 100;
+
+    private final long slowThresholdMs;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile Counter slowStatements;
+
+    // The registry is resolved lazily: the DataSource is created before it
+    public QueryStatsListener(long slowThresholdMs, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.slowThresholdMs = slowThresholdMs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            // A JDBC batch is one round trip however many rows it carries
+            stats.record(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery(), elapsedMs);
+        }
+
+        if (slowThresholdMs > 0 && elapsedMs >= slowThresholdMs) {
+            slowCounter().increment();
+            for (QueryInfo query : queryInfoList) {
+                logger.warn("Slow statement ({} ms{}): {} params={}", elapsedMs,
+                        execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                        query.getQuery(), formatParameters(query));
+            }
+        }
+    }
+
+    private Counter slowCounter() {
+        Counter counter = slowStatements;
+        if (counter == null) {
+            counter = Counter.builder("db.statements.slow").register(meterRegistry.getObject());
+            slowStatements = counter;
+        }
+        return counter;
+    }
+
+    private String formatParameters(QueryInfo query) {
+        List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+        if (parameterSets.isEmpty()) {
+            return "[]";
+        }
+        // First row is enough to reproduce; batches would flood the log
+        return parameterSets.get(0).stream()
+                .map(operation -> {
+                    Object[] args = operation.getArgs();
+                    String value = args.length > 1 ? String.valueOf(args[1]) : "";
+                    return value.length() > MAX_PARAM_LENGTH ? value.substring(0, MAX_PARAM_LENGTH) + "..." : value;
+                })
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
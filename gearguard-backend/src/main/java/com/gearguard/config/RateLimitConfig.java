@@ -0,0 +1,46 @@
+package com.gearguard.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearguard.security.RateLimitFilter;
+import com.gearguard.security.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Rate limiting for the public auth endpoints. Runs before security and
+ * before any body parsing so rejected requests cost almost nothing.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        return new RateLimiter(properties.getMaxKeys());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, rateLimiter(), objectMapper, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        registration.addUrlPatterns("/api/auth/*");
+        return registration;
+    }
+
+    // Per node: each node limits the traffic it receives
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void sweepIdleKeys() {
+        rateLimiter().sweep();
+    }
+}
@@ -0,0 +1,41 @@
+package com.gearguard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-endpoint request budgets, bound from {@code app.rate-limit.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    public enum KeyType {
+        IP, EMAIL
+    }
+
+    @Data
+    public static class Rule {
+        private String path;
+        private KeyType key = KeyType.IP;
+
+        // limit requests per period, sustained
+        private int limit = 10;
+        private int periodSeconds = 60;
+
+        // Requests allowed back to back before the rate applies; 0 means limit
+        private int burst = 0;
+    }
+
+    private boolean enabled = true;
+
+    // Tracked keys across all rules; idle keys are swept, overflow evicts at random
+    private int maxKeys = 100_000;
+
+    private long sweepIntervalMs = 60_000;
+
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+}
@@ -0,0 +1,181 @@
+package com.gearguard.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks a read replica for read-only work, round-robin over the replicas
+ * that are reachable and caught up.
+ *
+ * A user who has just committed a write is kept on the primary for a short
+ * window so they see their own change. Replication lag is polled on a
+ * schedule; a replica that lags or fails to hand out a connection is skipped
+ * until the next check finds it healthy again.
+ *
+ * Requests answered with an ETag built from primary-side data versions are
+ * pinned to the primary (see {@link ConditionalGetInterceptor}); a lagging
+ * replica would otherwise serve old rows under the new tag, and clients
+ * would keep them until the next change.
+ */
+public class ReplicaRouter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    // Zero on a primary or a replica that has replayed everything it received
+    private static final String LAG_MS = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS bigint) END";
+
+    private static final class Replica {
+        final HikariDataSource pool;
+        volatile boolean healthy = true;
+        volatile long lagMs;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final long windowMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private static final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    // User name -> time until which their reads stay on the primary
+    private final ConcurrentHashMap<String, Long> recentWriters = new ConcurrentHashMap<>();
+
+    public ReplicaRouter(List<HikariDataSource> pools, Duration maxLag, Duration readYourWritesWindow,
+            MeterRegistry meterRegistry) {
+        this.replicas = pools.stream().map(Replica::new).toList();
+        this.maxLagMs = maxLag.toMillis();
+        this.windowMs = readYourWritesWindow.toMillis();
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMs)
+                    .tag("pool", replica.pool.getPoolName())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Keeps this thread's reads on the primary until {@link #unpin}.
+     */
+    public static void pinToPrimary() {
+        pinned.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        pinned.remove();
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * A replica for the current read-only work, or null to stay on the primary.
+     */
+    DataSource select() {
+        if (replicas.isEmpty() || pinned.get() != null || wroteRecently(currentUser())) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica.pool;
+            }
+        }
+        return null;
+    }
+
+    void markDown(DataSource pool, SQLException cause) {
+        for (Replica replica : replicas) {
+            if (replica.pool == pool && replica.healthy) {
+                replica.healthy = false;
+                logger.warn("Replica {} unavailable, reading from primary: {}", replica.pool.getPoolName(),
+                        cause.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Keeps the current user's reads on the primary for the configured window.
+     */
+    public void recordWrite() {
+        String user = currentUser();
+        if (replicas.isEmpty() || user == null) {
+            return;
+        }
+        recentWriters.put(user, System.currentTimeMillis() + windowMs);
+    }
+
+    /**
+     * Polls every replica's replay lag and drops expired read-your-writes
+     * entries.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.pool.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(LAG_MS)) {
+                rs.next();
+                long lag = rs.getLong(1);
+                boolean known = !rs.wasNull();
+                replica.lagMs = known ? lag : Long.MAX_VALUE;
+                replica.healthy = known && lag <= maxLagMs;
+            } catch (SQLException e) {
+                replica.healthy = false;
+            }
+            if (wasHealthy != replica.healthy) {
+                logger.info("Replica {} is {} (lag {} ms)", replica.pool.getPoolName(),
+                        replica.healthy ? "back in rotation" : "out of rotation", replica.lagMs);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        recentWriters.values().removeIf(until -> until < now);
+    }
+
+    private boolean wroteRecently(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = recentWriters.get(user);
+        return until != null && until >= System.currentTimeMillis();
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+}
@@ -0,0 +1,20 @@
+package com.gearguard.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method (or every method of a service) on the reporting
+ * connection pool, which is small, read-only and allows long statements.
+ *
+ * Takes effect when the method opens its own transaction; a call made from
+ * inside an existing transaction keeps that transaction's connection.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReportingWorkload {
+}
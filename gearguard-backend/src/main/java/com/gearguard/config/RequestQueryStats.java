@@ -0,0 +1,81 @@
+package com.gearguard.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements issued while serving one HTTP request.
+ *
+ * Bound to the request thread by {@link QueryStatsFilter}; statements run on
+ * other threads (async executors, scheduled jobs) are not attributed to any
+ * request. Statements are grouped by shape - the SQL with literals and IN
+ * lists collapsed - so the same query run once per row shows up as one
+ * shape with a high count.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long dbTimeMs;
+
+    public static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void record(String sql, long elapsedMs) {
+        statements++;
+        dbTimeMs += elapsedMs;
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDbTimeMs() {
+        return dbTimeMs;
+    }
+
+    public double getElapsedMs() {
+        return (System.nanoTime() - startedAt) / 1_000_000.0;
+    }
+
+    /**
+     * Shapes executed at least {@code threshold} times, with their counts.
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new HashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,12 @@
+package com.gearguard.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-priority SLA targets tracked by {@link com.gearguard.service.SlaMonitor}.
+ */
+@Configuration
+@EnableConfigurationProperties(SlaProperties.class)
+public class SlaConfig {
+}
@@ -0,0 +1,46 @@
+package com.gearguard.config;
+
+import com.gearguard.model.enums.Priority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Response and resolution targets per priority, bound from {@code app.sla.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sla")
+public class SlaProperties {
+
+    @Data
+    public static class Policy {
+        // From creation (or the scheduled date, if later) until IN_PROGRESS; null means no target
+        private Duration respondWithin;
+
+        // From the same start until REPAIRED or SCRAP; null means no target
+        private Duration resolveWithin;
+    }
+
+    private boolean enabled = true;
+
+    // Timer resolution; breaches fire at most one tick late
+    private long tickMs = 1000;
+
+    // Slots per wheel level; each level covers wheelSize times the one below
+    private int wheelSize = 60;
+
+    // Wait before reconnecting the LISTEN connection that carries changes from other nodes
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    // Breaches found later than this after the deadline are recorded but not escalated
+    private Duration notifyLateBreachesWithin = Duration.ofHours(1);
+
+    private Map<Priority, Policy> policies = new EnumMap<>(Priority.class);
+
+    public Policy policy(Priority priority) {
+        return priority != null ? policies.get(priority) : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.gearguard.config;
+
+import com.gearguard.service.DataVersionService;
+import com.gearguard.service.DataVersionService.Scope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Conditional GET support for the polled list endpoints. Each registration
+ * names the tables whose changes invalidate that endpoint's ETag.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    // Dashboard shows relative times ("5 min ago") and today's counts
+    @Value("${app.http.dashboard-etag-bucket-seconds:60}")
+    private long dashboardBucketSeconds;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersions, 0,
+                        Scope.REQUESTS, Scope.EQUIPMENT, Scope.TEAMS, Scope.USERS))
+                .addPathPatterns("/api/requests", "/api/requests/stage/**", "/api/requests/team/**",
+                        "/api/requests/overdue");
+
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersions, 0,
+                        Scope.EQUIPMENT, Scope.DEPARTMENTS, Scope.TEAMS, Scope.USERS))
+                .addPathPatterns("/api/equipment");
+
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersions, 0,
+                        Scope.TEAMS, Scope.USERS, Scope.REQUESTS))
+                .addPathPatterns("/api/teams", "/api/teams/**");
+
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersions, dashboardBucketSeconds,
+                        Scope.REQUESTS, Scope.EQUIPMENT, Scope.TEAMS))
+                .addPathPatterns("/api/dashboard");
+    }
+}
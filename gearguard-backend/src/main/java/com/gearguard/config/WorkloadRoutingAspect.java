@@ -0,0 +1,40 @@
+package com.gearguard.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the reporting workload around {@link ReportingWorkload} methods and
+ * the batch workload around {@link BatchWorkload} methods. Ordered ahead of
+ * the transaction interceptor so the transaction's connection already comes
+ * from the right pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadRoutingAspect {
+
+    @Around("@annotation(com.gearguard.config.ReportingWorkload) || @within(com.gearguard.config.ReportingWorkload)")
+    public Object routeToReporting(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedIn(WorkloadRoutingDataSource.Workload.REPORTING, joinPoint);
+    }
+
+    @Around("@annotation(com.gearguard.config.BatchWorkload) || @within(com.gearguard.config.BatchWorkload)")
+    public Object routeToBatch(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedIn(WorkloadRoutingDataSource.Workload.BATCH, joinPoint);
+    }
+
+    private Object proceedIn(WorkloadRoutingDataSource.Workload workload, ProceedingJoinPoint joinPoint)
+            throws Throwable {
+        WorkloadRoutingDataSource.Workload previous = WorkloadRoutingDataSource.enter(workload);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.gearguard.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections from the pool of the workload bound to the current
+ * thread: OLTP unless a {@link ReportingWorkload} or {@link BatchWorkload}
+ * method is running.
+ * Read-only OLTP transactions go to a replica when {@link ReplicaRouter} has
+ * one to offer, and fall back to the primary if it cannot connect.
+ *
+ * Transactions decide read-only after asking for a connection, so this must
+ * sit behind a LazyConnectionDataSourceProxy for replica routing to apply.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public enum Workload {
+        OLTP, REPORTING, BATCH
+    }
+
+    private static final ThreadLocal<Workload> current = new ThreadLocal<>();
+
+    private final Map<Workload, HikariDataSource> pools;
+    private final ReplicaRouter replicas;
+
+    public WorkloadRoutingDataSource(Map<Workload, HikariDataSource> pools, ReplicaRouter replicas) {
+        this.pools = new EnumMap<>(pools);
+        this.replicas = replicas;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.OLTP));
+        afterPropertiesSet();
+    }
+
+    public static Workload currentWorkload() {
+        Workload workload = current.get();
+        return workload != null ? workload : Workload.OLTP;
+    }
+
+    /**
+     * Binds a workload to this thread and returns the previous one, to be
+     * passed back to {@link #restore}.
+     */
+    static Workload enter(Workload workload) {
+        Workload previous = current.get();
+        current.set(workload);
+        return previous;
+    }
+
+    static void restore(Workload previous) {
+        if (previous != null) {
+            current.set(previous);
+        } else {
+            current.remove();
+        }
+    }
+
+    /**
+     * Runs a task under the given workload, for work handed to a pool thread
+     * that should stay on the submitter's pool.
+     */
+    public static <T> T callIn(Workload workload, Supplier<T> task) {
+        Workload previous = enter(workload);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentWorkload();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicas.markDown(replica, e);
+            }
+        }
+        return super.getConnection();
+    }
+
+    private DataSource selectReplica() {
+        if (currentWorkload() != Workload.OLTP || !replicas.hasReplicas()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        return replicas.select();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
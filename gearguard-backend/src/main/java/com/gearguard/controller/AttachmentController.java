@@ -2,19 +2,25 @@ package com.gearguard.controller;
 
 import com.gearguard.model.Attachment;
 import com.gearguard.service.AttachmentService;
+import com.gearguard.service.ThumbnailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/attachments")
@@ -25,6 +31,9 @@ public class AttachmentController {
     @Autowired
     private AttachmentService attachmentService;
 
+    @Autowired
+    private ThumbnailService thumbnailService;
+
     @PostMapping("/upload")
     @Operation(summary = "Upload a file", description = "Upload a file and attach it to an entity")
     public ResponseEntity<?> uploadFile(
@@ -63,6 +72,41 @@ public class AttachmentController {
         }
     }
 
+    @GetMapping("/{id}/thumbnail")
+    @Operation(summary = "Get a small preview", description = "JPEG preview for image and PDF attachments; 202 while it is being generated, 415 if the file cannot be decoded, 404 if the file is missing")
+    public ResponseEntity<?> getThumbnail(@PathVariable Long id) {
+        Attachment attachment;
+        try {
+            attachment = attachmentService.getAttachment(id);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!thumbnailService.isSupported(attachment)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Path thumbnail = thumbnailService.findThumbnail(attachment);
+        if (thumbnail == null && thumbnailService.hasFailed(attachment)) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body(Map.of("message", "No preview available for this file"));
+        }
+        if (thumbnail == null && !thumbnailService.hasSource(attachment)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (thumbnail == null) {
+            thumbnailService.requestThumbnail(attachment);
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .body(Map.of("message", "Preview is being generated"));
+        }
+
+        // Previews never change for a given attachment
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate())
+                .body(new FileSystemResource(thumbnail));
+    }
+
     @GetMapping
     @Operation(summary = "Get attachments for an entity")
     public ResponseEntity<List<Attachment>> getAttachments(
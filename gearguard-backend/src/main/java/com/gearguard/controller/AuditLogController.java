@@ -1,15 +1,17 @@
 package com.gearguard.controller;
 
+import com.gearguard.dto.AuditLogFilter;
 import com.gearguard.model.AuditLog;
 import com.gearguard.service.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,19 +27,26 @@ public class AuditLogController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all audit logs", description = "Paginated list of all audit logs (Admin only)")
+    @Operation(summary = "Get audit logs", description = "Cursor-paginated, filterable audit logs (Admin only)")
     public ResponseEntity<?> getAllLogs(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size) {
-        Page<AuditLog> logs = auditLogService.getAllLogs(page, size);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("logs", logs.getContent());
-        response.put("totalPages", logs.getTotalPages());
-        response.put("totalElements", logs.getTotalElements());
-        response.put("currentPage", page);
-
-        return ResponseEntity.ok(response);
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "approximate") String count) {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .action(action)
+                .entityType(entityType)
+                .entityId(entityId)
+                .userId(userId)
+                .from(from)
+                .to(to)
+                .build();
+        return page(filter, cursor, size, count);
     }
 
     @GetMapping("/recent")
@@ -49,17 +58,41 @@ public class AuditLogController {
 
     @GetMapping("/entity/{entityType}/{entityId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    @Operation(summary = "Get audit logs for an entity")
-    public ResponseEntity<List<AuditLog>> getEntityLogs(
+    @Operation(summary = "Get audit logs for an entity", description = "Cursor-paginated")
+    public ResponseEntity<?> getEntityLogs(
             @PathVariable String entityType,
-            @PathVariable Long entityId) {
-        return ResponseEntity.ok(auditLogService.getEntityLogs(entityType, entityId));
+            @PathVariable Long entityId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "approximate") String count) {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .build();
+        return page(filter, cursor, size, count);
     }
 
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get audit logs for a user")
-    public ResponseEntity<List<AuditLog>> getUserLogs(@PathVariable Long userId) {
-        return ResponseEntity.ok(auditLogService.getUserLogs(userId));
+    @Operation(summary = "Get audit logs for a user", description = "Cursor-paginated")
+    public ResponseEntity<?> getUserLogs(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "approximate") String count) {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(userId)
+                .build();
+        return page(filter, cursor, size, count);
+    }
+
+    private ResponseEntity<?> page(AuditLogFilter filter, String cursor, int size, String count) {
+        try {
+            return ResponseEntity.ok(auditLogService.getLogs(filter, cursor, size, count));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 }
@@ -7,10 +7,12 @@ import com.gearguard.dto.ResetPasswordRequest;
 import com.gearguard.dto.SignupRequest;
 import com.gearguard.dto.UserDTO;
 import com.gearguard.dto.VerifyOtpRequest;
+import com.gearguard.exception.ServiceBusyException;
 import com.gearguard.model.User;
 import com.gearguard.model.enums.UserRole;
 import com.gearguard.repository.UserRepository;
 import com.gearguard.service.AuthService;
+import com.gearguard.service.DataVersionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -34,11 +36,16 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DataVersionService dataVersions;
+
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
                     AuthResponse.builder().message("Invalid credentials").build());
@@ -50,6 +57,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.setupAdmin(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
                     AuthResponse.builder().message(e.getMessage()).build());
@@ -74,6 +83,8 @@ public class AuthController {
 
             AuthResponse response = authService.createUser(request, currentUser.getRole());
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(
                     AuthResponse.builder().message(e.getMessage()).build());
@@ -155,6 +166,8 @@ public class AuthController {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Password reset successfully");
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> response = new HashMap<>();
             response.put("message", e.getMessage());
@@ -182,6 +195,7 @@ public class AuthController {
             }
 
             userRepository.save(user);
+            dataVersions.bump(DataVersionService.Scope.USERS);
 
             UserDTO dto = UserDTO.builder()
                     .id(user.getId())
@@ -214,6 +228,8 @@ public class AuthController {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Password changed successfully");
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> response = new HashMap<>();
             response.put("message", e.getMessage());
@@ -0,0 +1,72 @@
+package com.gearguard.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearguard.dto.BootstrapDTO;
+import com.gearguard.service.BootstrapService;
+import com.gearguard.service.DashboardService.Widget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/bootstrap")
+@CrossOrigin(origins = "*")
+@Tag(name = "Bootstrap", description = "App-start data in one round trip")
+public class BootstrapController {
+
+    @Autowired
+    private BootstrapService bootstrapService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // widgets: dashboard widgets to include, as for /api/dashboard
+    @GetMapping
+    @Operation(summary = "Get app-start data", description = "Current user, teams, departments, equipment "
+            + "categories, unread notification count and dashboard")
+    public ResponseEntity<?> bootstrap(
+            @RequestParam(required = false) String widgets,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            Set<Widget> requested = Widget.parse(widgets);
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            BootstrapDTO bootstrap = bootstrapService.bootstrap(auth.getName(), requested);
+
+            // Tagged by content: the payload mixes tables and per-user data with no single version
+            byte[] body = objectMapper.writeValueAsBytes(bootstrap);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            boolean complete = bootstrap.getTeams() != null && bootstrap.getDepartments() != null
+                    && bootstrap.getUnreadNotifications() != null && bootstrap.getDashboard() != null
+                    && bootstrap.getDashboard().getDegraded() == null;
+            if (!complete) {
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body);
+            }
+
+            if (ifNoneMatch != null && ifNoneMatch.replace("W/", "").contains(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.gearguard.controller;
+
+import com.gearguard.dto.CalendarDTO;
+import com.gearguard.service.CalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/calendar")
+@CrossOrigin(origins = "*")
+@Tag(name = "Calendar", description = "Scheduled maintenance grouped by day")
+public class CalendarController {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @GetMapping
+    @Operation(summary = "Get calendar buckets", description = "Per-day counts by priority; day and week views include the requests. "
+            + "Pass either view + date, or an explicit start and end.")
+    public ResponseEntity<?> getCalendar(
+            @RequestParam(defaultValue = "month") String view,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            WebRequest webRequest) {
+        try {
+            LocalDate[] range = start != null && end != null
+                    ? new LocalDate[] { start, end }
+                    : calendarService.resolveRange(view, date);
+
+            String etag = calendarService.getETag(view, range[0], range[1]);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            CalendarDTO calendar = calendarService.getCalendar(view, range[0], range[1]);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(etag)
+                    .body(calendar);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.gearguard.controller;
+
+import com.gearguard.dto.InitUploadRequest;
+import com.gearguard.model.Attachment;
+import com.gearguard.service.ChunkedUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/attachments/uploads")
+@CrossOrigin(origins = "*")
+@Tag(name = "Chunked Uploads", description = "Resumable uploads for large attachments")
+public class ChunkedUploadController {
+
+    @Autowired
+    private ChunkedUploadService uploadService;
+
+    @PostMapping
+    @Operation(summary = "Start a resumable upload", description = "Returns a session id and the maximum chunk size")
+    public ResponseEntity<?> initUpload(@Valid @RequestBody InitUploadRequest request) {
+        try {
+            return ResponseEntity.ok(uploadService.initUpload(request));
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    @GetMapping("/{sessionId}")
+    @Operation(summary = "Get upload progress", description = "receivedBytes is the offset to resume from")
+    public ResponseEntity<?> getStatus(@PathVariable String sessionId) {
+        try {
+            return ResponseEntity.ok(uploadService.getStatus(sessionId));
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    @PutMapping(value = "/{sessionId}", consumes = "application/octet-stream")
+    @Operation(summary = "Upload a chunk", description = "Raw bytes written at the given offset")
+    public ResponseEntity<?> uploadChunk(
+            @PathVariable String sessionId,
+            @RequestParam long offset,
+            HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(uploadService.writeChunk(sessionId, offset,
+                    request.getContentLengthLong(), request.getInputStream()));
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    @PostMapping("/{sessionId}/complete")
+    @Operation(summary = "Finish an upload", description = "Verifies the checksum and creates the attachment")
+    public ResponseEntity<?> completeUpload(@PathVariable String sessionId) {
+        try {
+            Attachment attachment = uploadService.completeUpload(sessionId);
+            Map<String, Object> response = new HashMap<>();
+            response.put("id", attachment.getId());
+            response.put("filename", attachment.getOriginalFilename());
+            response.put("size", attachment.getFileSize());
+            response.put("sha256", attachment.getContentHash());
+            response.put("message", "File uploaded successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    @DeleteMapping("/{sessionId}")
+    @Operation(summary = "Abort an upload")
+    public ResponseEntity<?> abortUpload(@PathVariable String sessionId) {
+        try {
+            uploadService.abortUpload(sessionId);
+            return ResponseEntity.ok(Map.of("message", "Upload aborted"));
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> error(Exception e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+}
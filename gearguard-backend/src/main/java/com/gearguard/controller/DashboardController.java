@@ -2,10 +2,15 @@ package com.gearguard.controller;
 
 import com.gearguard.dto.DashboardDTO;
 import com.gearguard.service.DashboardService;
+import com.gearguard.service.DashboardService.Widget;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/dashboard")
 @CrossOrigin(origins = "*")
@@ -14,8 +19,21 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    // widgets: comma-separated subset of summary, teams, status, categories, activity; all when omitted
     @GetMapping
-    public ResponseEntity<DashboardDTO> getDashboardStats() {
-        return ResponseEntity.ok(dashboardService.getDashboardStats());
+    public ResponseEntity<?> getDashboardStats(@RequestParam(required = false) String widgets) {
+        Set<Widget> requested;
+        try {
+            requested = Widget.parse(widgets);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+
+        DashboardDTO dashboard = dashboardService.getDashboardStats(requested);
+        if (dashboard.getDegraded() != null) {
+            // Incomplete or stale: do not let the client revalidate it against the current ETag
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(dashboard);
+        }
+        return ResponseEntity.ok(dashboard);
     }
 }
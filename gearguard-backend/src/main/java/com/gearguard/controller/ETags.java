@@ -0,0 +1,39 @@
+package com.gearguard.controller;
+
+/**
+ * Version-based entity tags for conditional updates.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    /**
+     * Reads the version from an If-Match header. Accepts "3", W/"3" and a bare
+     * 3; returns null when the header is absent or "*".
+     */
+    static Long parseIfMatch(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String value = header.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid If-Match header: " + header);
+        }
+    }
+}
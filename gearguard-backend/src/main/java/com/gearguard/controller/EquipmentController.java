@@ -6,6 +6,7 @@ import com.gearguard.model.enums.EquipmentStatus;
 import com.gearguard.service.EquipmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -38,7 +39,10 @@ public class EquipmentController {
 
     @GetMapping("/{id}")
     public ResponseEntity<EquipmentDTO> getEquipmentById(@PathVariable Long id) {
-        return ResponseEntity.ok(equipmentService.getEquipmentById(id));
+        EquipmentDTO equipment = equipmentService.getEquipmentById(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(equipment.getVersion()))
+                .body(equipment);
     }
 
     @PostMapping
@@ -49,8 +53,23 @@ public class EquipmentController {
     @PutMapping("/{id}")
     public ResponseEntity<EquipmentDTO> updateEquipment(
             @PathVariable Long id,
-            @Valid @RequestBody CreateEquipmentRequest request) {
-        return ResponseEntity.ok(equipmentService.updateEquipment(id, request));
+            @Valid @RequestBody CreateEquipmentRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EquipmentDTO updated = equipmentService.updateEquipment(id, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(updated.getVersion()))
+                .body(updated);
+    }
+
+    @PatchMapping("/{id}/usage")
+    public ResponseEntity<?> recordUsage(@PathVariable Long id, @RequestBody Map<String, Long> body) {
+        try {
+            return ResponseEntity.ok(equipmentService.recordUsage(id, body.get("reading")));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @DeleteMapping("/{id}")
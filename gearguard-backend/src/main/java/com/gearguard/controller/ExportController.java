@@ -0,0 +1,77 @@
+package com.gearguard.controller;
+
+import com.gearguard.service.ExportService;
+import com.gearguard.service.ExportService.Format;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Bulk extracts for BI ingestion. Responses are written while the rows are
+ * read, so they run on the request thread rather than under the async
+ * request timeout. Pass the last row's updated_at as {@code since} to fetch
+ * only rows changed after it (plus an overlap window, so expect repeats and
+ * upsert on id). A response without the closing footer record is incomplete.
+ */
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "*")
+@Tag(name = "Export", description = "Streaming NDJSON/CSV extracts")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/requests")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Export maintenance requests", description = "NDJSON or CSV, ordered by updatedAt")
+    public void exportRequests(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            HttpServletResponse response) throws IOException {
+        Format parsed = prepare(response, format, "maintenance_requests");
+        if (parsed != null) {
+            exportService.exportRequests(since, parsed, response.getOutputStream());
+        }
+    }
+
+    @GetMapping("/equipment")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Export equipment", description = "NDJSON or CSV, ordered by updatedAt")
+    public void exportEquipment(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            HttpServletResponse response) throws IOException {
+        Format parsed = prepare(response, format, "equipment");
+        if (parsed != null) {
+            exportService.exportEquipment(since, parsed, response.getOutputStream());
+        }
+    }
+
+    // Sets the download headers, or answers 400 and returns null for an unknown format
+    private Format prepare(HttpServletResponse response, String format, String name) throws IOException {
+        Format parsed;
+        try {
+            parsed = Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format: " + format);
+            return null;
+        }
+        String extension = parsed == Format.CSV ? "csv" : "ndjson";
+        response.setContentType(parsed == Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "_" + LocalDate.now() + "." + extension + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        return parsed;
+    }
+}
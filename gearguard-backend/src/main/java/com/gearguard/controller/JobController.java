@@ -0,0 +1,47 @@
+package com.gearguard.controller;
+
+import com.gearguard.model.JobRun;
+import com.gearguard.repository.JobRunRepository;
+import com.gearguard.repository.ScheduledJobLockRepository;
+import com.gearguard.service.ScheduledJobRunner;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Scheduled Jobs", description = "Cluster job leases and run history")
+public class JobController {
+
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
+    @Autowired
+    private ScheduledJobLockRepository lockRepository;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @GetMapping
+    @Operation(summary = "Get job leases and recent runs", description = "Optionally filtered by job name")
+    public ResponseEntity<Map<String, Object>> getJobs(@RequestParam(required = false) String jobName) {
+        List<JobRun> runs = jobName != null
+                ? jobRunRepository.findTop100ByJobNameOrderByStartedAtDesc(jobName)
+                : jobRunRepository.findTop100ByOrderByStartedAtDesc();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("node", jobRunner.getNodeId());
+        response.put("locks", lockRepository.findAllByOrderByJobNameAsc());
+        response.put("runs", runs);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,73 @@
+package com.gearguard.controller;
+
+import com.gearguard.dto.CreateScheduleRequest;
+import com.gearguard.dto.MaintenanceScheduleDTO;
+import com.gearguard.service.PreventiveMaintenanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/preventive-schedules")
+@CrossOrigin(origins = "*")
+@Tag(name = "Preventive Schedules", description = "Recurring preventive maintenance rules")
+public class PreventiveScheduleController {
+
+    @Autowired
+    private PreventiveMaintenanceService preventiveService;
+
+    @GetMapping
+    @Operation(summary = "List preventive schedules", description = "Optionally filtered by equipment")
+    public ResponseEntity<List<MaintenanceScheduleDTO>> getSchedules(
+            @RequestParam(required = false) Long equipmentId) {
+        return ResponseEntity.ok(preventiveService.getSchedules(equipmentId));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Create a preventive schedule")
+    public ResponseEntity<?> createSchedule(@Valid @RequestBody CreateScheduleRequest request) {
+        try {
+            return ResponseEntity.ok(preventiveService.createSchedule(request));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Delete a preventive schedule")
+    public ResponseEntity<?> deleteSchedule(@PathVariable Long id) {
+        try {
+            preventiveService.deleteSchedule(id);
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Schedule deleted successfully");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PostMapping("/generate")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Generate upcoming preventive requests now", description = "Runs the nightly generation job on demand")
+    public ResponseEntity<Map<String, Object>> generateNow() {
+        int generated = preventiveService.generateUpcomingRequests();
+        Map<String, Object> response = new HashMap<>();
+        response.put("generated", generated);
+        response.put("message", "Generated " + generated + " preventive requests");
+        return ResponseEntity.ok(response);
+    }
+}
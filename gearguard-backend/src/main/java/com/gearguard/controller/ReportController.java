@@ -2,73 +2,104 @@ package com.gearguard.controller;
 
 import com.gearguard.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.time.LocalDate;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/reports")
 @CrossOrigin(origins = "*")
 public class ReportController {
 
+    private static final MediaType EXCEL = MediaType
+            .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
     @Autowired
     private ReportService reportService;
 
+    // Bounded pool so report generation cannot tie up request threads
+    @Autowired
+    @Qualifier("reportExecutor")
+    private Executor reportExecutor;
+
     // ==================== EQUIPMENT REPORTS ====================
 
     @GetMapping("/equipment/pdf")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<byte[]> downloadEquipmentPdf() {
-        byte[] pdfContent = reportService.generateEquipmentPdf();
-        String filename = "equipment_inventory_" + LocalDate.now() + ".pdf";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfContent);
+    public DeferredResult<ResponseEntity<byte[]>> downloadEquipmentPdf() {
+        return render(reportService::generateEquipmentPdf,
+                "equipment_inventory_" + LocalDate.now() + ".pdf", MediaType.APPLICATION_PDF);
     }
 
     @GetMapping("/equipment/excel")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<byte[]> downloadEquipmentExcel() {
-        byte[] excelContent = reportService.generateEquipmentExcel();
-        String filename = "equipment_inventory_" + LocalDate.now() + ".xlsx";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(
-                        MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(excelContent);
+    public DeferredResult<ResponseEntity<byte[]>> downloadEquipmentExcel() {
+        return render(reportService::generateEquipmentExcel,
+                "equipment_inventory_" + LocalDate.now() + ".xlsx", EXCEL);
     }
 
     // ==================== MAINTENANCE HISTORY REPORTS ====================
 
     @GetMapping("/maintenance/pdf")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<byte[]> downloadMaintenancePdf() {
-        byte[] pdfContent = reportService.generateMaintenanceHistoryPdf();
-        String filename = "maintenance_history_" + LocalDate.now() + ".pdf";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfContent);
+    public DeferredResult<ResponseEntity<byte[]>> downloadMaintenancePdf() {
+        return render(reportService::generateMaintenanceHistoryPdf,
+                "maintenance_history_" + LocalDate.now() + ".pdf", MediaType.APPLICATION_PDF);
     }
 
     @GetMapping("/maintenance/excel")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<byte[]> downloadMaintenanceExcel() {
-        byte[] excelContent = reportService.generateMaintenanceHistoryExcel();
-        String filename = "maintenance_history_" + LocalDate.now() + ".xlsx";
+    public DeferredResult<ResponseEntity<byte[]>> downloadMaintenanceExcel() {
+        return render(reportService::generateMaintenanceHistoryExcel,
+                "maintenance_history_" + LocalDate.now() + ".xlsx", EXCEL);
+    }
+
+    private DeferredResult<ResponseEntity<byte[]>> render(Supplier<byte[]> generator, String filename,
+                                                          MediaType contentType) {
+        DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>();
+        FutureTask<byte[]> task = new FutureTask<>(generator::get) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    result.setResult(ResponseEntity.ok()
+                            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                            .contentType(contentType)
+                            .body(get()));
+                } catch (ExecutionException e) {
+                    result.setErrorResult(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        // Past spring.mvc.async.request-timeout (or the client went away) nobody will receive the
+        // report: drop it if still queued, interrupt it if running
+        result.onTimeout(() -> task.cancel(true));
+        result.onError(e -> task.cancel(true));
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(
-                        MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(excelContent);
+        try {
+            reportExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            // Report pool and queue are full
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "10")
+                    .<byte[]>build());
+        }
+        return result;
     }
 }
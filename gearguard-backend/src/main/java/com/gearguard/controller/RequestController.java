@@ -1,14 +1,19 @@
 package com.gearguard.controller;
 
+import com.gearguard.dto.BatchRequestOperation;
 import com.gearguard.dto.CreateRequestDTO;
 import com.gearguard.dto.MaintenanceRequestDTO;
+import com.gearguard.exception.ConflictException;
 import com.gearguard.model.User;
 import com.gearguard.model.enums.RequestStage;
 import com.gearguard.repository.UserRepository;
 import com.gearguard.service.MaintenanceRequestService;
+import com.gearguard.service.RequestBatchService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,6 +31,9 @@ public class RequestController {
     @Autowired
     private MaintenanceRequestService requestService;
 
+    @Autowired
+    private RequestBatchService batchService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -37,7 +45,10 @@ public class RequestController {
     @GetMapping("/{id}")
     public ResponseEntity<MaintenanceRequestDTO> getRequestById(@PathVariable Long id) {
         try {
-            return ResponseEntity.ok(requestService.getRequestById(id));
+            MaintenanceRequestDTO request = requestService.getRequestById(id);
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(request.getVersion()))
+                    .body(request);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -62,10 +73,15 @@ public class RequestController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'TECHNICIAN')")
-    public ResponseEntity<?> updateRequest(@PathVariable Long id, @Valid @RequestBody CreateRequestDTO request) {
+    public ResponseEntity<?> updateRequest(@PathVariable Long id, @Valid @RequestBody CreateRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            MaintenanceRequestDTO updated = requestService.updateRequest(id, request);
-            return ResponseEntity.ok(updated);
+            MaintenanceRequestDTO updated = requestService.updateRequest(id, request, ETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(updated.getVersion()))
+                    .body(updated);
+        } catch (ConflictException | ObjectOptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -75,12 +91,29 @@ public class RequestController {
 
     @PatchMapping("/{id}/stage")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'TECHNICIAN')")
-    public ResponseEntity<?> updateStage(@PathVariable Long id, @RequestBody Map<String, String> body) {
+    public ResponseEntity<?> updateStage(@PathVariable Long id, @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             String stageStr = body.get("stage");
             RequestStage stage = RequestStage.valueOf(stageStr);
-            MaintenanceRequestDTO updated = requestService.updateStage(id, stage);
-            return ResponseEntity.ok(updated);
+            MaintenanceRequestDTO updated = requestService.updateStage(id, stage, ETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(updated.getVersion()))
+                    .body(updated);
+        } catch (ConflictException | ObjectOptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<?> applyBatch(@Valid @RequestBody BatchRequestOperation operation) {
+        try {
+            return ResponseEntity.ok(batchService.applyBatch(operation));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
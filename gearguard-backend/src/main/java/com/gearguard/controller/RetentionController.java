@@ -0,0 +1,64 @@
+package com.gearguard.controller;
+
+import com.gearguard.service.DataRetentionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/retention")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Retention", description = "Partition retention and archive restore for audit logs and notifications")
+public class RetentionController {
+
+    @Autowired
+    private DataRetentionService retentionService;
+
+    @GetMapping("/archives")
+    @Operation(summary = "List archived months")
+    public ResponseEntity<?> getArchives() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("retentionMonths", retentionService.getManagedTables());
+            response.put("archives", retentionService.listArchives());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PostMapping("/{table}/{month}/restore")
+    @Operation(summary = "Restore an archived month", description = "Month format: yyyy-MM")
+    public ResponseEntity<?> restoreMonth(@PathVariable String table, @PathVariable String month) {
+        try {
+            long restored = retentionService.restoreMonth(table, YearMonth.parse(month));
+            Map<String, Object> response = new HashMap<>();
+            response.put("restored", restored);
+            response.put("message", "Restored " + restored + " rows into " + table + " for " + month);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PostMapping("/run")
+    @Operation(summary = "Run retention now", description = "Creates upcoming partitions and archives expired ones")
+    public ResponseEntity<Map<String, String>> runNow() {
+        boolean ran = retentionService.runRetentionNow();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ran ? "Retention run completed" : "Retention is disabled or already running");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,26 @@
+package com.gearguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogFilter {
+    private String action;
+    private String entityType;
+    private Long entityId;
+    private Long userId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public boolean isEmpty() {
+        return action == null && entityType == null && entityId == null && userId == null
+                && from == null && to == null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gearguard.dto;
+
+import com.gearguard.model.AuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogPageDTO {
+
+    private List<AuditLog> logs;
+    private int size;
+
+    // Opaque cursor for the next (older) page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+
+    // exact, approximate or none
+    private String countMode;
+    private Long totalElements;
+
+    // True when the approximate count stopped at the cap
+    private boolean totalCapped;
+}
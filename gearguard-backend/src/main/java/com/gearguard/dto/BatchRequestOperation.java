@@ -0,0 +1,27 @@
+package com.gearguard.dto;
+
+import com.gearguard.model.enums.RequestStage;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestOperation {
+
+    @NotEmpty(message = "At least one request ID is required")
+    @Size(max = 1000, message = "At most 1000 requests per batch")
+    private List<Long> ids;
+
+    // Any combination of the following; null fields are left unchanged
+    private RequestStage stage;
+
+    private Long assignedToId;
+
+    private Long assignedTeamId;
+}
@@ -0,0 +1,28 @@
+package com.gearguard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Everything the app loads on start; a part that failed to load is left out
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootstrapDTO {
+
+    private UserDTO user;
+
+    // Reference data
+    private List<TeamDTO> teams;
+    private List<DepartmentDTO> departments;
+    private List<String> equipmentCategories;
+
+    private Long unreadNotifications;
+    private DashboardDTO dashboard;
+}
@@ -0,0 +1,39 @@
+package com.gearguard.dto;
+
+import com.gearguard.model.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarDTO {
+
+    private String view;
+    private LocalDate start;
+    private LocalDate end;
+    private long total;
+
+    // Only days that have scheduled requests
+    private List<DayBucket> days;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayBucket {
+        private LocalDate date;
+        private long total;
+        private Map<Priority, Long> byPriority;
+
+        // Populated for day and week views only
+        private List<CalendarItemDTO> items;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gearguard.dto;
+
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.RequestStage;
+import com.gearguard.model.enums.RequestType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarItemDTO {
+    private Long id;
+    private String subject;
+    private LocalDate scheduledDate;
+    private Priority priority;
+    private RequestStage stage;
+    private RequestType type;
+    private Boolean isOverdue;
+    private Long equipmentId;
+    private String equipmentName;
+    private String assignedTeamName;
+    private String assignedTeamColor;
+    private String assignedToName;
+}
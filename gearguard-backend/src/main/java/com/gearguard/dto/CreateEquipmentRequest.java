@@ -29,6 +29,5 @@ public class CreateEquipmentRequest {
     private LocalDate warrantyExpiry;
     private String location;
     private EquipmentStatus status;
-    private Integer healthScore;
     private String notes;
 }
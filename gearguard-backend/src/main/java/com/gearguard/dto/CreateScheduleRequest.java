@@ -0,0 +1,38 @@
+package com.gearguard.dto;
+
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.RecurrenceType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateScheduleRequest {
+
+    @NotNull(message = "Equipment ID is required")
+    private Long equipmentId;
+
+    @NotNull(message = "Recurrence type is required")
+    private RecurrenceType recurrenceType;
+
+    private Integer intervalDays;
+
+    private Long usageInterval;
+
+    private LocalDate startDate; // Optional - staggered automatically if empty
+
+    @NotBlank(message = "Subject is required")
+    private String subject;
+
+    private String description;
+
+    private Priority priority = Priority.MEDIUM;
+
+    private Integer estimatedDuration;
+}
@@ -1,5 +1,6 @@
 package com.gearguard.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,6 +8,8 @@ import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+// Widgets that were not requested, or could not be computed, are left out
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,10 +17,10 @@ import java.util.List;
 public class DashboardDTO {
 
     // Summary stats
-    private long totalEquipment;
-    private long activeRequests;
-    private long completedToday;
-    private long overdueRequests;
+    private Long totalEquipment;
+    private Long activeRequests;
+    private Long completedToday;
+    private Long overdueRequests;
 
     // Breakdowns
     private List<TeamRequestCount> requestsByTeam;
@@ -25,6 +28,9 @@ public class DashboardDTO {
     private List<CategoryCount> equipmentByCategory;
     private List<RecentActivity> recentActivity;
 
+    // Requested widgets that timed out or failed; served stale when an older value was cached
+    private List<String> degraded;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -29,8 +29,10 @@ public class EquipmentDTO {
     private String location;
     private EquipmentStatus status;
     private Integer healthScore;
+    private Long usageReading;
     private String notes;
     private Boolean underWarranty;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,31 @@
+package com.gearguard.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InitUploadRequest {
+
+    @NotBlank(message = "Filename is required")
+    private String filename;
+
+    private String contentType;
+
+    @NotBlank(message = "Entity type is required")
+    private String entityType;
+
+    @NotNull(message = "Entity ID is required")
+    private Long entityId;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be greater than zero")
+    private Long totalSize;
+
+    private String sha256; // Optional - verified on completion
+}
@@ -44,9 +44,11 @@ public class MaintenanceRequestDTO {
 
     // Dates
     private LocalDate scheduledDate;
+    private LocalDateTime startedAt;
     private LocalDateTime completedAt;
     private Integer estimatedDuration;
     private Boolean isOverdue;
+    private Boolean slaBreached;
 
     // Notes
     private String notes;
@@ -54,4 +56,5 @@ public class MaintenanceRequestDTO {
     // Timestamps
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,32 @@
+package com.gearguard.dto;
+
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.RecurrenceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceScheduleDTO {
+    private Long id;
+    private Long equipmentId;
+    private String equipmentName;
+    private RecurrenceType recurrenceType;
+    private Integer intervalDays;
+    private Long usageInterval;
+    private Long lastUsageReading;
+    private LocalDate nextDueDate;
+    private String subject;
+    private String description;
+    private Priority priority;
+    private Integer estimatedDuration;
+    private Boolean active;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.gearguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDTO {
+    private String id;
+    private String filename;
+    private Long totalSize;
+
+    // Resume from this offset
+    private Long receivedBytes;
+    private Integer maxChunkSize;
+    private LocalDateTime expiresAt;
+}
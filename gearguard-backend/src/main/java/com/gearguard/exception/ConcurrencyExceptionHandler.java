@@ -0,0 +1,49 @@
+package com.gearguard.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns version conflicts from any controller into 409 / 412 responses.
+ */
+@RestControllerAdvice
+public class ConcurrencyExceptionHandler {
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(ConflictException e) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", e.getMessage());
+        body.put("currentVersion", e.getCurrentVersion());
+        body.put("conflictingFields", e.getConflictingFields());
+        body.put("current", e.getCurrent());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CONFLICT);
+        if (e.getCurrentVersion() != null) {
+            response.header(HttpHeaders.ETAG, "\"" + e.getCurrentVersion() + "\"");
+        }
+        return response.body(body);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException e) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", e.getMessage());
+        body.put("currentVersion", e.getCurrentVersion());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    // A concurrent transaction committed between our read and write
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", "This record was changed by someone else. Reload and try again.");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+}
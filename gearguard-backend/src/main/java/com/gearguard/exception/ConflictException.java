@@ -0,0 +1,33 @@
+package com.gearguard.exception;
+
+import java.util.List;
+
+/**
+ * The client edited a stale version and its changes overlap with changes
+ * made since. Mapped to 409 Conflict.
+ */
+public class ConflictException extends RuntimeException {
+
+    private final Long currentVersion;
+    private final List<String> conflictingFields;
+    private final Object current;
+
+    public ConflictException(String message, Long currentVersion, List<String> conflictingFields, Object current) {
+        super(message);
+        this.currentVersion = currentVersion;
+        this.conflictingFields = conflictingFields;
+        this.current = current;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    public List<String> getConflictingFields() {
+        return conflictingFields;
+    }
+
+    public Object getCurrent() {
+        return current;
+    }
+}
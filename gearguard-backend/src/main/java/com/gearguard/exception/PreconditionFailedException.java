@@ -0,0 +1,18 @@
+package com.gearguard.exception;
+
+/**
+ * If-Match did not match the current version. Mapped to 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public PreconditionFailedException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
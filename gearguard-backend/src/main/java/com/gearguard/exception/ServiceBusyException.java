@@ -0,0 +1,19 @@
+package com.gearguard.exception;
+
+/**
+ * A bounded worker pool is full and the request was shed instead of queued.
+ * Mapped to 503 with Retry-After.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
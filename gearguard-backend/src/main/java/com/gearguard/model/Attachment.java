@@ -25,6 +25,10 @@ public class Attachment {
     @Column(name = "content_type")
     private String contentType;
 
+    // SHA-256 of the stored blob; null for files stored before deduplication
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "file_size")
     private Long fileSize;
 
@@ -0,0 +1,37 @@
+package com.gearguard.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A stored file, identified by the SHA-256 of its content and shared by every
+ * attachment with the same bytes.
+ */
+@Entity
+@Table(name = "attachment_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttachmentBlob {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private Integer refCount = 0;
+
+    // Set when the last reference goes away; GC waits out a grace period from here
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+
+    @Column(name = "created_at")
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -5,7 +5,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_created", columnList = "created_at, id"),
+        @Index(name = "idx_audit_entity_created", columnList = "entity_type, entity_id, created_at, id"),
+        @Index(name = "idx_audit_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_audit_action_created", columnList = "action, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
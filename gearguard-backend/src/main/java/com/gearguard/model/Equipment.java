@@ -7,7 +7,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "equipment")
+@Table(name = "equipment", indexes = {
+        @Index(name = "idx_equipment_updated_at", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -57,13 +59,24 @@ public class Equipment {
     @Builder.Default
     private EquipmentStatus status = EquipmentStatus.ACTIVE;
 
-    @Column(name = "health_score")
+    // Derived from maintenance history by EquipmentHealthService, never by JPA updates
+    @Column(name = "health_score", updatable = false)
     @Builder.Default
     private Integer healthScore = 100;
 
+    // Usage meter (operating hours, cycles, ...) used by usage-based preventive schedules
+    @Column(name = "usage_reading")
+    @Builder.Default
+    private Long usageReading = 0L;
+
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Optimistic lock; bulk SQL updates of editable columns must increment it too
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -71,6 +84,13 @@ public class Equipment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    protected void onCreate() {
+        if (this.updatedAt == null) {
+            this.updatedAt = this.createdAt != null ? this.createdAt : LocalDateTime.now();
+        }
+    }
+
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
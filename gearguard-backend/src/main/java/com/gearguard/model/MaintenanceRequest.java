@@ -9,7 +9,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "maintenance_requests")
+@Table(name = "maintenance_requests", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_requests_schedule_occurrence", columnNames = { "schedule_id", "scheduled_date" })
+}, indexes = {
+        @Index(name = "idx_requests_scheduled_date", columnList = "scheduled_date"),
+        @Index(name = "idx_requests_equipment", columnList = "equipment_id"),
+        @Index(name = "idx_requests_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_requests_created_at", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -60,9 +67,20 @@ public class MaintenanceRequest {
     @Column(name = "scheduled_date")
     private LocalDate scheduledDate;
 
+    // First move to IN_PROGRESS; kept if the request is moved back
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Set only by SlaMonitor; never written through the entity
+    @Column(name = "sla_response_breached_at", insertable = false, updatable = false)
+    private LocalDateTime slaResponseBreachedAt;
+
+    @Column(name = "sla_resolve_breached_at", insertable = false, updatable = false)
+    private LocalDateTime slaResolveBreachedAt;
+
     @Column(name = "estimated_duration")
     private Integer estimatedDuration;
 
@@ -73,6 +91,15 @@ public class MaintenanceRequest {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Preventive schedule that generated this request, if any
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    // Optimistic lock; bulk SQL updates must increment it too
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -90,6 +117,10 @@ public class MaintenanceRequest {
         if (this.createdAt == null) {
             this.createdAt = LocalDateTime.now();
         }
+        // Incremental exports select on updated_at, so new rows carry one too
+        if (this.updatedAt == null) {
+            this.updatedAt = this.createdAt;
+        }
         updateOverdueStatus();
     }
 
@@ -0,0 +1,76 @@
+package com.gearguard.model;
+
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.RecurrenceType;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Recurrence rule for preventive maintenance on a piece of equipment.
+ * Either every {@code intervalDays} days, or whenever the equipment's usage
+ * reading has advanced by {@code usageInterval} since the last generated request.
+ */
+@Entity
+@Table(name = "maintenance_schedules")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaintenanceSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipment_id", nullable = false)
+    private Equipment equipment;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_type", length = 20, nullable = false)
+    private RecurrenceType recurrenceType;
+
+    @Column(name = "interval_days")
+    private Integer intervalDays;
+
+    @Column(name = "usage_interval")
+    private Long usageInterval;
+
+    @Column(name = "last_usage_reading")
+    @Builder.Default
+    private Long lastUsageReading = 0L;
+
+    @Column(name = "next_due_date")
+    private LocalDate nextDueDate;
+
+    @Column(nullable = false, length = 200)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private Priority priority = Priority.MEDIUM;
+
+    @Column(name = "estimated_duration")
+    private Integer estimatedDuration;
+
+    @Builder.Default
+    private Boolean active = true;
+
+    @Column(name = "created_at")
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -5,7 +5,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "otp_tokens")
+@Table(name = "otp_tokens", indexes = {
+        @Index(name = "idx_otp_email", columnList = "email")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
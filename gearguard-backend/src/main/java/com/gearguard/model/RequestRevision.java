@@ -0,0 +1,74 @@
+package com.gearguard.model;
+
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.RequestStage;
+import com.gearguard.model.enums.RequestType;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The editable fields of a maintenance request as committed at one version,
+ * the base a stale save is merged against on any node.
+ */
+@Entity
+@Table(name = "request_revisions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_request_revisions_version", columnNames = { "request_id", "version" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(length = 200)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RequestType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Priority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RequestStage stage;
+
+    @Column(name = "scheduled_date")
+    private LocalDate scheduledDate;
+
+    @Column(name = "estimated_duration")
+    private Integer estimatedDuration;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "equipment_id")
+    private Long equipmentId;
+
+    @Column(name = "assigned_team_id")
+    private Long assignedTeamId;
+
+    @Column(name = "assigned_to")
+    private Long assignedToId;
+
+    @Column(name = "created_at")
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
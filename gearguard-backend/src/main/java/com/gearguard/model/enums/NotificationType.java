@@ -9,5 +9,6 @@ public enum NotificationType {
     REQUEST_UPDATED,
     REQUEST_COMPLETED,
     REQUEST_OVERDUE,
+    SLA_BREACHED,
     TEAM_ADDED
 }
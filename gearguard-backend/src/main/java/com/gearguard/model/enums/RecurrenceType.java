@@ -0,0 +1,6 @@
+package com.gearguard.model.enums;
+
+public enum RecurrenceType {
+    INTERVAL_DAYS,
+    USAGE
+}
@@ -0,0 +1,36 @@
+package com.gearguard.repository;
+
+import com.gearguard.model.AttachmentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO attachment_blobs (content_hash, file_size, ref_count, created_at) "
+            + "VALUES (:hash, :size, 1, now()) "
+            + "ON CONFLICT (content_hash) DO UPDATE SET ref_count = attachment_blobs.ref_count + 1, released_at = NULL",
+            nativeQuery = true)
+    void acquire(@Param("hash") String hash, @Param("size") long size);
+
+    @Modifying
+    @Query(value = "UPDATE attachment_blobs SET ref_count = ref_count - 1, "
+            + "released_at = CASE WHEN ref_count <= 1 THEN now() ELSE released_at END "
+            + "WHERE content_hash = :hash", nativeQuery = true)
+    void release(@Param("hash") String hash);
+
+    @Query("SELECT b.contentHash FROM AttachmentBlob b WHERE b.refCount <= 0 AND b.releasedAt < :cutoff")
+    List<String> findReleasedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Re-checks the count under the row lock so a concurrent upload wins
+    @Modifying
+    @Query(value = "DELETE FROM attachment_blobs WHERE content_hash = :hash AND ref_count <= 0", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
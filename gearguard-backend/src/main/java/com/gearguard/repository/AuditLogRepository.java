@@ -1,24 +1,13 @@
 package com.gearguard.repository;
 
 import com.gearguard.model.AuditLog;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(String entityType, Long entityId);
-
-    List<AuditLog> findByPerformedByIdOrderByCreatedAtDesc(Long userId);
-
-    Page<AuditLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
-
-    List<AuditLog> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime start, LocalDateTime end);
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
 
     List<AuditLog> findTop50ByOrderByCreatedAtDesc();
 }
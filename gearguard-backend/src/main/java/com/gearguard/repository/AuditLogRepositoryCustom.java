@@ -0,0 +1,28 @@
+package com.gearguard.repository;
+
+import com.gearguard.dto.AuditLogFilter;
+import com.gearguard.model.AuditLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Newest-first page of logs strictly older than the (createdAt, id)
+     * cursor. Pass null cursor values for the first page.
+     */
+    List<AuditLog> findPage(AuditLogFilter filter, LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+
+    long countMatching(AuditLogFilter filter);
+
+    /**
+     * Counts matching rows but stops at the cap.
+     */
+    long countMatchingUpTo(AuditLogFilter filter, long cap);
+
+    /**
+     * Planner row estimate for the whole table (summed over partitions).
+     */
+    long estimateTotalRows();
+}
@@ -0,0 +1,108 @@
+package com.gearguard.repository;
+
+import com.gearguard.dto.AuditLogFilter;
+import com.gearguard.model.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset queries for the audit log browser. Every filter combination has a
+ * matching (..., created_at, id) index declared on {@link AuditLog}.
+ */
+public class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> findPage(AuditLogFilter filter, LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT a FROM AuditLog a LEFT JOIN FETCH a.performedBy WHERE 1 = 1");
+        appendFilter(jpql, params, filter, "a.action", "a.entityType", "a.entityId", "a.performedBy.id", "a.createdAt");
+
+        if (cursorCreatedAt != null && cursorId != null) {
+            // The redundant <= bound lets the index range start at the cursor
+            jpql.append(" AND a.createdAt <= :cursorCreatedAt")
+                    .append(" AND (a.createdAt < :cursorCreatedAt OR a.id < :cursorId)");
+            params.put("cursorCreatedAt", cursorCreatedAt);
+            params.put("cursorId", cursorId);
+        }
+        jpql.append(" ORDER BY a.createdAt DESC, a.id DESC");
+
+        TypedQuery<AuditLog> query = entityManager.createQuery(jpql.toString(), AuditLog.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countMatching(AuditLogFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(a) FROM AuditLog a WHERE 1 = 1");
+        appendFilter(jpql, params, filter, "a.action", "a.entityType", "a.entityId", "a.performedBy.id", "a.createdAt");
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public long countMatchingUpTo(AuditLogFilter filter, long cap) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM (SELECT 1 FROM audit_logs a WHERE 1 = 1");
+        appendFilter(sql, params, filter, "a.action", "a.entity_type", "a.entity_id", "a.user_id", "a.created_at");
+        sql.append(" LIMIT :cap) capped");
+        params.put("cap", cap);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public long estimateTotalRows() {
+        Object result = entityManager.createNativeQuery(
+                "SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0) FROM pg_class c "
+                        + "WHERE c.oid = CAST('audit_logs' AS regclass) "
+                        + "OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i WHERE i.inhparent = CAST('audit_logs' AS regclass))")
+                .getSingleResult();
+        return ((Number) result).longValue();
+    }
+
+    private void appendFilter(StringBuilder query, Map<String, Object> params, AuditLogFilter filter,
+                              String action, String entityType, String entityId, String userId, String createdAt) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.getAction() != null) {
+            query.append(" AND ").append(action).append(" = :action");
+            params.put("action", filter.getAction());
+        }
+        if (filter.getEntityType() != null) {
+            query.append(" AND ").append(entityType).append(" = :entityType");
+            params.put("entityType", filter.getEntityType());
+        }
+        if (filter.getEntityId() != null) {
+            query.append(" AND ").append(entityId).append(" = :entityId");
+            params.put("entityId", filter.getEntityId());
+        }
+        if (filter.getUserId() != null) {
+            query.append(" AND ").append(userId).append(" = :userId");
+            params.put("userId", filter.getUserId());
+        }
+        if (filter.getFrom() != null) {
+            query.append(" AND ").append(createdAt).append(" >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            query.append(" AND ").append(createdAt).append(" < :to");
+            params.put("to", filter.getTo());
+        }
+    }
+}
@@ -36,6 +36,9 @@ public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
             "WHERE e.status != 'SCRAPPED'")
     List<Equipment> findAllActiveWithDetails();
 
+    @Query("SELECT MIN(e.id), MAX(e.id) FROM Equipment e")
+    List<Object[]> findIdRange();
+
     @Query("SELECT COUNT(r) FROM MaintenanceRequest r WHERE r.equipment.id = :equipmentId AND r.stage != 'REPAIRED'")
     Long countOpenRequestsByEquipmentId(@Param("equipmentId") Long equipmentId);
 }
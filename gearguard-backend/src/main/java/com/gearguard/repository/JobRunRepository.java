@@ -0,0 +1,25 @@
+package com.gearguard.repository;
+
+import com.gearguard.model.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    List<JobRun> findTop100ByOrderByStartedAtDesc();
+
+    List<JobRun> findTop100ByJobNameOrderByStartedAtDesc(String jobName);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JobRun r WHERE r.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,5 +1,6 @@
 package com.gearguard.repository;
 
+import com.gearguard.dto.CalendarItemDTO;
 import com.gearguard.model.MaintenanceRequest;
 import com.gearguard.model.enums.RequestStage;
 import com.gearguard.model.enums.RequestType;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -28,6 +30,9 @@ public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceR
 
         List<MaintenanceRequest> findByIsOverdueTrue();
 
+        // Newest first for the dashboard feed; reads only the request's own columns
+        List<MaintenanceRequest> findTop5ByOrderByCreatedAtDescIdDesc();
+
         List<MaintenanceRequest> findByScheduledDateBetween(LocalDate start, LocalDate end);
 
         @Query("SELECT r FROM MaintenanceRequest r " +
@@ -37,10 +42,26 @@ public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceR
                         "ORDER BY r.stage, r.priority DESC, r.createdAt DESC")
         List<MaintenanceRequest> findAllForKanban();
 
-        @Query("SELECT r FROM MaintenanceRequest r " +
+        // Calendar (range scans on idx_requests_scheduled_date)
+        @Query("SELECT new com.gearguard.dto.CalendarItemDTO(r.id, r.subject, r.scheduledDate, r.priority, r.stage, " +
+                        "r.type, r.isOverdue, e.id, e.name, t.name, t.color, a.fullName) " +
+                        "FROM MaintenanceRequest r " +
+                        "LEFT JOIN r.equipment e " +
+                        "LEFT JOIN r.assignedTeam t " +
+                        "LEFT JOIN r.assignedTo a " +
                         "WHERE r.scheduledDate BETWEEN :start AND :end " +
-                        "ORDER BY r.scheduledDate")
-        List<MaintenanceRequest> findAllForCalendar(@Param("start") LocalDate start, @Param("end") LocalDate end);
+                        "ORDER BY r.scheduledDate, r.id")
+        List<CalendarItemDTO> findAllForCalendar(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+        @Query("SELECT r.scheduledDate, r.priority, COUNT(r) FROM MaintenanceRequest r " +
+                        "WHERE r.scheduledDate BETWEEN :start AND :end " +
+                        "GROUP BY r.scheduledDate, r.priority")
+        List<Object[]> countByDayAndPriority(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+        // Cheap change fingerprint for a date range, used as the calendar ETag
+        @Query("SELECT COUNT(r), MAX(COALESCE(r.updatedAt, r.createdAt)) FROM MaintenanceRequest r " +
+                        "WHERE r.scheduledDate BETWEEN :start AND :end")
+        List<Object[]> fingerprintForCalendar(@Param("start") LocalDate start, @Param("end") LocalDate end);
 
         @Query("SELECT r.assignedTeam.name, COUNT(r) FROM MaintenanceRequest r " +
                         "WHERE r.assignedTeam IS NOT NULL " +
@@ -58,7 +79,7 @@ public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceR
         List<MaintenanceRequest> findUrgentRequests();
 
         @Modifying
-        @Query("UPDATE MaintenanceRequest r SET r.stage = :stage WHERE r.id = :id")
+        @Query("UPDATE VERSIONED MaintenanceRequest r SET r.stage = :stage WHERE r.id = :id")
         void updateStage(@Param("id") Long id, @Param("stage") RequestStage stage);
 
         Long countByStage(RequestStage stage);
@@ -68,7 +89,23 @@ public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceR
         @Query("SELECT COUNT(r) FROM MaintenanceRequest r WHERE r.completedAt IS NOT NULL AND r.completedAt >= :startOfDay")
         Long countCompletedToday(@Param("startOfDay") LocalDateTime startOfDay);
 
+        // Technician workload
+        @Query("SELECT r.assignedTo.id, COUNT(r) FROM MaintenanceRequest r " +
+                        "WHERE r.assignedTo IS NOT NULL AND r.stage IN :stages " +
+                        "GROUP BY r.assignedTo.id")
+        List<Object[]> countByAssigneeAndStageIn(@Param("stages") Collection<RequestStage> stages);
+
         // Team statistics
+        @Query("SELECT r.assignedTeam.id, r.stage, COUNT(r) FROM MaintenanceRequest r " +
+                        "WHERE r.assignedTeam IS NOT NULL " +
+                        "GROUP BY r.assignedTeam.id, r.stage")
+        List<Object[]> countByTeamAndStage();
+
+        @Query("SELECT r.stage, COUNT(r) FROM MaintenanceRequest r " +
+                        "WHERE r.assignedTeam.id = :teamId " +
+                        "GROUP BY r.stage")
+        List<Object[]> countByStageForTeam(@Param("teamId") Long teamId);
+
         int countByAssignedTeamIdAndStageNot(Long teamId, RequestStage stage);
 
         int countByAssignedTeamIdAndStage(Long teamId, RequestStage stage);
@@ -0,0 +1,19 @@
+package com.gearguard.repository;
+
+import com.gearguard.model.MaintenanceSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MaintenanceScheduleRepository extends JpaRepository<MaintenanceSchedule, Long> {
+
+    List<MaintenanceSchedule> findByEquipmentId(Long equipmentId);
+
+    List<MaintenanceSchedule> findByActiveTrue();
+
+    @Query("SELECT MIN(s.id), MAX(s.id) FROM MaintenanceSchedule s WHERE s.active = true")
+    List<Object[]> findActiveIdRange();
+}
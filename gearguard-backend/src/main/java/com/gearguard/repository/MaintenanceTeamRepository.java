@@ -3,6 +3,7 @@ package com.gearguard.repository;
 import com.gearguard.model.MaintenanceTeam;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,6 +16,9 @@ public interface MaintenanceTeamRepository extends JpaRepository<MaintenanceTeam
 
     boolean existsByName(String name);
 
-    @Query("SELECT DISTINCT t FROM MaintenanceTeam t LEFT JOIN FETCH t.members")
+    @Query("SELECT DISTINCT t FROM MaintenanceTeam t LEFT JOIN FETCH t.members m LEFT JOIN FETCH m.user")
     List<MaintenanceTeam> findAllWithMembers();
+
+    @Query("SELECT t FROM MaintenanceTeam t LEFT JOIN FETCH t.members m LEFT JOIN FETCH m.user WHERE t.id = :id")
+    Optional<MaintenanceTeam> findByIdWithMembers(@Param("id") Long id);
 }
@@ -13,7 +13,14 @@ import java.util.Optional;
 @Repository
 public interface OtpTokenRepository extends JpaRepository<OtpToken, Long> {
 
-    Optional<OtpToken> findByEmailAndOtpAndUsedFalse(String email, String otp);
+    Optional<OtpToken> findFirstByEmailAndUsedFalseOrderByCreatedAtDesc(String email);
+
+    // Compare-and-set across nodes: only one caller can consume a given code
+    @Modifying
+    @Transactional
+    @Query("UPDATE OtpToken o SET o.used = true WHERE o.email = :email AND o.otp = :otp AND o.used = false "
+            + "AND o.expiresAt > :now")
+    int markUsed(String email, String otp, LocalDateTime now);
 
     @Modifying
     @Transactional
@@ -22,6 +29,6 @@ public interface OtpTokenRepository extends JpaRepository<OtpToken, Long> {
 
     @Modifying
     @Transactional
-    @Query("DELETE FROM OtpToken o WHERE o.expiresAt < :now")
-    void deleteExpiredTokens(LocalDateTime now);
+    @Query("DELETE FROM OtpToken o WHERE o.expiresAt < :now OR o.used = true")
+    int deleteExpiredTokens(LocalDateTime now);
 }
@@ -0,0 +1,25 @@
+package com.gearguard.repository;
+
+import com.gearguard.model.RequestRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RequestRevisionRepository extends JpaRepository<RequestRevision, Long> {
+
+    Optional<RequestRevision> findByRequestIdAndVersion(Long requestId, Long version);
+
+    // Keeps the newest revisions of a request
+    @Modifying
+    @Query("DELETE FROM RequestRevision r WHERE r.requestId = :requestId AND r.version <= :version")
+    int deleteUpToVersion(@Param("requestId") Long requestId, @Param("version") Long version);
+
+    @Modifying
+    @Query("DELETE FROM RequestRevision r WHERE r.requestId = :requestId")
+    int deleteByRequest(@Param("requestId") Long requestId);
+}
@@ -0,0 +1,13 @@
+package com.gearguard.repository;
+
+import com.gearguard.model.ScheduledJobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    List<ScheduledJobLock> findAllByOrderByJobNameAsc();
+}
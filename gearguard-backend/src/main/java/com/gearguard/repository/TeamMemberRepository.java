@@ -2,6 +2,8 @@ package com.gearguard.repository;
 
 import com.gearguard.model.TeamMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +13,9 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
 
     List<TeamMember> findByTeamId(Long teamId);
 
+    @Query("SELECT m FROM TeamMember m JOIN FETCH m.user WHERE m.team.id = :teamId")
+    List<TeamMember> findByTeamIdWithUser(@Param("teamId") Long teamId);
+
     List<TeamMember> findByUserId(Long userId);
 
     boolean existsByTeamIdAndUserId(Long teamId, Long userId);
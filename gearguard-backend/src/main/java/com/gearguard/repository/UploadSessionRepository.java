@@ -0,0 +1,29 @@
+package com.gearguard.repository;
+
+import com.gearguard.model.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    List<UploadSession> findByExpiresAtBefore(LocalDateTime cutoff);
+
+    // Only extends the contiguous prefix; chunks past a gap are rejected earlier
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadSession s SET s.receivedBytes = :end, s.expiresAt = :expiresAt "
+            + "WHERE s.id = :id AND s.receivedBytes >= :offset AND s.receivedBytes < :end")
+    int advance(@Param("id") String id, @Param("offset") long offset, @Param("end") long end,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Returns 0 when the session is already gone, so only one completion wins
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id")
+    int deleteSession(@Param("id") String id);
+}
@@ -0,0 +1,180 @@
+package com.gearguard.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearguard.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated auth endpoints per client IP and per email.
+ *
+ * Each configured rule names a path and a key type; a request must get a
+ * token from every rule matching its path. Rejected requests get 429 with
+ * Retry-After and are counted as http.ratelimit.throttled{rule}. Email keys
+ * are read from the JSON body, which is buffered and replayed to the
+ * controller; a body too large to read gets 413 rather than skipping the
+ * email rules. IP keys are the client address as resolved by
+ * server.forward-headers-strategy, so behind a proxy they are the caller,
+ * not the proxy, as long as the proxy is a trusted internal one.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Auth payloads are tiny; anything larger is refused on paths keyed by email
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitProperties properties;
+    private final RateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter limiter, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("http.ratelimit.keys", limiter, RateLimiter::size).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled() || "OPTIONS".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<Map.Entry<String, RateLimitProperties.Rule>> rules = properties.getRules().entrySet().stream()
+                .filter(entry -> path.equals(entry.getValue().getPath()))
+                .toList();
+        if (rules.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest target = request;
+        String email = null;
+        boolean byEmail = rules.stream().anyMatch(entry -> entry.getValue().getKey() == RateLimitProperties.KeyType.EMAIL);
+        if (byEmail) {
+            if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+            target = new CachedBodyRequest(request, body);
+            email = extractEmail(body);
+        }
+
+        for (Map.Entry<String, RateLimitProperties.Rule> entry : rules) {
+            RateLimitProperties.Rule rule = entry.getValue();
+            String key = rule.getKey() == RateLimitProperties.KeyType.EMAIL ? email : request.getRemoteAddr();
+            if (key == null) {
+                continue;
+            }
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(rule.getPeriodSeconds()) / Math.max(1, rule.getLimit());
+            int burst = rule.getBurst() > 0 ? rule.getBurst() : rule.getLimit();
+            long waitNanos = limiter.tryAcquire(entry.getKey() + ":" + key, intervalNanos, burst);
+            if (waitNanos > 0) {
+                reject(response, entry.getKey(), waitNanos);
+                return;
+            }
+        }
+
+        chain.doFilter(target, response);
+    }
+
+    private void reject(HttpServletResponse response, String ruleName, long waitNanos) throws IOException {
+        Counter.builder("http.ratelimit.throttled").tag("rule", ruleName).register(meterRegistry).increment();
+
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                Map.of("message", "Too many requests. Please try again in " + retryAfter + " seconds."));
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed JSON is rejected by the controller; the IP rule still applies
+            return null;
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.gearguard.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket keyed by string, implemented as GCRA: each key holds
+ * only its theoretical arrival time in one AtomicLong and is updated by CAS.
+ *
+ * A key whose arrival time is in the past has a full bucket and carries no
+ * state worth keeping, so sweeping removes exactly those. If the map still
+ * exceeds its bound, arbitrary keys are dropped, which at worst refills
+ * their buckets early.
+ */
+public class RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final int maxKeys;
+
+    public RateLimiter(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 when allowed, otherwise the
+     * nanoseconds until a token is available.
+     *
+     * @param intervalNanos time to earn one token (period / limit)
+     * @param burst         tokens the bucket holds when full
+     */
+    public long tryAcquire(String key, long intervalNanos, int burst) {
+        long tolerance = intervalNanos * (Math.max(1, burst) - 1);
+        if (arrivals.size() >= maxKeys && !arrivals.containsKey(key)) {
+            sweep();
+        }
+        AtomicLong arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long start = current - now < 0 ? now : current;
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops keys whose buckets have refilled, then trims to 90% of the bound.
+     */
+    public void sweep() {
+        long now = System.nanoTime();
+        arrivals.values().removeIf(arrival -> arrival.get() - now <= 0);
+
+        int target = maxKeys - maxKeys / 10;
+        Iterator<String> keys = arrivals.keySet().iterator();
+        while (arrivals.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    public int size() {
+        return arrivals.size();
+    }
+}
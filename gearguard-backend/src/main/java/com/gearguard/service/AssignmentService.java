@@ -0,0 +1,123 @@
+package com.gearguard.service;
+
+import com.gearguard.model.Equipment;
+import com.gearguard.model.TeamMember;
+import com.gearguard.model.User;
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.UserRole;
+import com.gearguard.repository.TeamMemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Routes new maintenance requests to a technician.
+ *
+ * Candidates are the technicians of the equipment's maintenance team plus the
+ * equipment's default technician. Workload comes from
+ * {@link TechnicianWorkloadIndex}, so picking a technician costs one roster
+ * query and no per-candidate count queries.
+ */
+@Service
+public class AssignmentService {
+
+    @Autowired
+    private TeamMemberRepository memberRepository;
+
+    @Autowired
+    private TechnicianWorkloadIndex workloadIndex;
+
+    @Value("${app.assignment.auto-assign:true}")
+    private boolean autoAssignEnabled;
+
+    // How many more open requests the default technician may carry than the
+    // least loaded candidate before routine work is routed elsewhere
+    @Value("${app.assignment.affinity-slack:2}")
+    private int affinitySlack;
+
+    public boolean isAutoAssignEnabled() {
+        return autoAssignEnabled;
+    }
+
+    /**
+     * Picks a technician for a new request on the given equipment and reserves
+     * one unit of workload for them. Returns empty when no candidate exists.
+     */
+    public Optional<User> assignTechnician(Equipment equipment, Priority priority) {
+        List<Candidate> candidates = findCandidates(equipment);
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Candidate chosen = selectCandidate(candidates, priority);
+        workloadIndex.adjust(chosen.user().getId(), 1);
+        return Optional.of(chosen.user());
+    }
+
+    /**
+     * Chooses among candidates using current workload and request priority:
+     * routine work stays with the default technician while their load is within
+     * the affinity slack, urgent work always goes to the least loaded
+     * technician, and critical ties prefer the team lead.
+     */
+    Candidate selectCandidate(List<Candidate> candidates, Priority priority) {
+        int minLoad = Integer.MAX_VALUE;
+        Candidate defaultCandidate = null;
+        for (Candidate candidate : candidates) {
+            minLoad = Math.min(minLoad, load(candidate));
+            if (candidate.isDefault()) {
+                defaultCandidate = candidate;
+            }
+        }
+
+        boolean urgent = priority == Priority.HIGH || priority == Priority.CRITICAL;
+        if (!urgent && defaultCandidate != null && load(defaultCandidate) <= minLoad + affinitySlack) {
+            return defaultCandidate;
+        }
+
+        Comparator<Candidate> order = Comparator.comparingInt(this::load);
+        if (priority == Priority.CRITICAL) {
+            order = order.thenComparing(Candidate::isLead, Comparator.reverseOrder());
+        }
+        order = order.thenComparing(Candidate::isDefault, Comparator.reverseOrder())
+                .thenComparing(candidate -> candidate.user().getId());
+
+        return candidates.stream().min(order).orElseThrow();
+    }
+
+    private List<Candidate> findCandidates(Equipment equipment) {
+        User defaultTechnician = equipment.getDefaultTechnician();
+        Long defaultId = defaultTechnician != null && Boolean.TRUE.equals(defaultTechnician.getActive())
+                ? defaultTechnician.getId()
+                : null;
+
+        List<Candidate> candidates = new ArrayList<>();
+        if (equipment.getMaintenanceTeam() != null) {
+            List<TeamMember> members = memberRepository.findByTeamIdWithUser(equipment.getMaintenanceTeam().getId());
+            for (TeamMember member : members) {
+                User user = member.getUser();
+                if (Boolean.TRUE.equals(user.getActive()) && user.getRole() == UserRole.TECHNICIAN) {
+                    candidates.add(new Candidate(user, Boolean.TRUE.equals(member.getIsLead()),
+                            user.getId().equals(defaultId)));
+                }
+            }
+        }
+
+        if (defaultId != null && candidates.stream().noneMatch(Candidate::isDefault)) {
+            candidates.add(new Candidate(defaultTechnician, false, true));
+        }
+        return candidates;
+    }
+
+    private int load(Candidate candidate) {
+        return workloadIndex.getOpenCount(candidate.user().getId());
+    }
+
+    record Candidate(User user, boolean isLead, boolean isDefault) {
+    }
+}
@@ -5,25 +5,19 @@ import com.gearguard.model.User;
 import com.gearguard.repository.AttachmentRepository;
 import com.gearguard.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 public class AttachmentService {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
-
     @Autowired
     private AttachmentRepository attachmentRepository;
 
@@ -33,31 +27,41 @@ public class AttachmentService {
     @Autowired
     private AuditLogService auditLogService;
 
-    public Attachment uploadFile(MultipartFile file, String entityType, Long entityId) throws IOException {
-        // Create upload directory if not exists
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
 
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null && originalFilename.contains(".")
-                ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                : "";
-        String filename = UUID.randomUUID().toString() + extension;
+    @Transactional
+    public Attachment uploadFile(MultipartFile file, String entityType, Long entityId) throws IOException {
+        // Hash while copying to the temp area, then store once per distinct content
+        BlobStore.StagedBlob staged = blobStore.stage(file.getInputStream());
+        return storeAttachment(staged, file.getOriginalFilename(), file.getContentType(), entityType, entityId);
+    }
 
-        // Save file
-        Path filePath = uploadPath.resolve(filename);
-        Files.copy(file.getInputStream(), filePath);
+    /**
+     * Commits a staged blob and records the attachment that references it.
+     * Callers must be in a transaction.
+     */
+    public Attachment storeAttachment(BlobStore.StagedBlob staged, String originalFilename, String contentType,
+                                      String entityType, Long entityId) throws IOException {
+        String contentHash;
+        try {
+            contentHash = blobStore.commit(staged);
+        } catch (IOException | RuntimeException e) {
+            blobStore.discard(staged);
+            throw e;
+        }
 
         // Save attachment record
         User user = getCurrentUser();
         Attachment attachment = Attachment.builder()
-                .filename(filename)
+                .filename(contentHash)
                 .originalFilename(originalFilename)
-                .contentType(file.getContentType())
-                .fileSize(file.getSize())
+                .contentType(contentType)
+                .contentHash(contentHash)
+                .fileSize(staged.size())
                 .entityType(entityType)
                 .entityId(entityId)
                 .uploadedBy(user)
@@ -68,6 +72,8 @@ public class AttachmentService {
         // Log the upload
         auditLogService.log("UPLOAD", entityType, entityId, "Uploaded file: " + originalFilename);
 
+        thumbnailService.requestThumbnail(attachment);
+
         return attachment;
     }
 
@@ -75,8 +81,7 @@ public class AttachmentService {
         Attachment attachment = attachmentRepository.findById(attachmentId)
                 .orElseThrow(() -> new RuntimeException("Attachment not found"));
 
-        Path filePath = Paths.get(uploadDir).resolve(attachment.getFilename());
-        return Files.readAllBytes(filePath);
+        return Files.readAllBytes(blobStore.resolve(attachment));
     }
 
     public Attachment getAttachment(Long attachmentId) {
@@ -88,13 +93,17 @@ public class AttachmentService {
         return attachmentRepository.findByEntityTypeAndEntityIdOrderByCreatedAtDesc(entityType, entityId);
     }
 
+    @Transactional
     public void deleteAttachment(Long attachmentId) throws IOException {
         Attachment attachment = attachmentRepository.findById(attachmentId)
                 .orElseThrow(() -> new RuntimeException("Attachment not found"));
 
-        // Delete file
-        Path filePath = Paths.get(uploadDir).resolve(attachment.getFilename());
-        Files.deleteIfExists(filePath);
+        if (attachment.getContentHash() != null) {
+            // Shared blob: drop the reference, GC removes the file once unused
+            blobStore.release(attachment.getContentHash());
+        } else {
+            Files.deleteIfExists(blobStore.resolve(attachment));
+        }
 
         // Delete record
         attachmentRepository.delete(attachment);
@@ -1,28 +1,38 @@
 package com.gearguard.service;
 
+import com.gearguard.dto.AuditLogFilter;
+import com.gearguard.dto.AuditLogPageDTO;
 import com.gearguard.model.AuditLog;
 import com.gearguard.model.User;
 import com.gearguard.repository.AuditLogRepository;
 import com.gearguard.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 public class AuditLogService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private AuditLogRepository auditLogRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    // Upper bound for filtered approximate counts
+    @Value("${app.audit.count-cap:10000}")
+    private long countCap;
+
     public void log(String action, String entityType, Long entityId, String details) {
         log(action, entityType, entityId, details, null, null);
     }
@@ -43,24 +53,65 @@ public class AuditLogService {
         auditLogRepository.save(log);
     }
 
+    @Transactional(readOnly = true)
     public List<AuditLog> getRecentLogs() {
         return auditLogRepository.findTop50ByOrderByCreatedAtDesc();
     }
 
-    public Page<AuditLog> getAllLogs(int page, int size) {
-        return auditLogRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(page, size));
-    }
+    /**
+     * Cursor-paginated, newest-first logs. countMode is "exact", "approximate"
+     * (planner estimate or a capped count) or "none".
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPageDTO getLogs(AuditLogFilter filter, String cursor, int size, String countMode) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
 
-    public List<AuditLog> getEntityLogs(String entityType, Long entityId) {
-        return auditLogRepository.findByEntityTypeAndEntityIdOrderByCreatedAtDesc(entityType, entityId);
-    }
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String decoded;
+            try {
+                decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                cursorCreatedAt = LocalDateTime.parse(decoded.substring(0, separator));
+                cursorId = Long.parseLong(decoded.substring(separator + 1));
+            } catch (Exception e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<AuditLog> rows = auditLogRepository.findPage(filter, cursorCreatedAt, cursorId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<AuditLog> logs = hasMore ? rows.subList(0, limit) : rows;
+
+        AuditLogPageDTO.AuditLogPageDTOBuilder page = AuditLogPageDTO.builder()
+                .logs(logs)
+                .size(logs.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(logs.get(logs.size() - 1)) : null);
 
-    public List<AuditLog> getUserLogs(Long userId) {
-        return auditLogRepository.findByPerformedByIdOrderByCreatedAtDesc(userId);
+        String mode = countMode != null ? countMode.toLowerCase() : "approximate";
+        switch (mode) {
+            case "none" -> page.countMode("none");
+            case "exact" -> page.countMode("exact").totalElements(auditLogRepository.countMatching(filter));
+            default -> {
+                page.countMode("approximate");
+                long estimate = filter.isEmpty() ? auditLogRepository.estimateTotalRows() : 0;
+                if (estimate > 0) {
+                    page.totalElements(estimate);
+                } else {
+                    long counted = auditLogRepository.countMatchingUpTo(filter, countCap);
+                    page.totalElements(counted).totalCapped(counted >= countCap);
+                }
+            }
+        }
+        return page.build();
     }
 
-    public List<AuditLog> getLogsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return auditLogRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(start, end);
+    private String encodeCursor(AuditLog log) {
+        String raw = log.getCreatedAt() + "|" + log.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
     private User getCurrentUser() {
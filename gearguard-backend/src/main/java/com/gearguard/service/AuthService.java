@@ -4,21 +4,16 @@ import com.gearguard.dto.AuthResponse;
 import com.gearguard.dto.LoginRequest;
 import com.gearguard.dto.SignupRequest;
 import com.gearguard.dto.UserDTO;
-import com.gearguard.model.OtpToken;
 import com.gearguard.model.User;
 import com.gearguard.model.enums.UserRole;
-import com.gearguard.repository.OtpTokenRepository;
 import com.gearguard.repository.UserRepository;
 import com.gearguard.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.SecureRandom;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,28 +24,40 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private OtpTokenRepository otpTokenRepository;
+    private OtpStore otpStore;
 
     @Autowired
     private EmailService emailService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private JwtUtil jwtUtil;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private PasswordHashingService hashingService;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private DataVersionService dataVersions;
 
-    private static final SecureRandom secureRandom = new SecureRandom();
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
+    /**
+     * Authenticates with a single user lookup; the password check runs on the
+     * bounded hashing pool and hashes below the configured cost are upgraded.
+     * Not transactional, so no connection is held while hashing.
+     */
     public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + request.getEmail()));
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(user.getEmail(), request.getPassword()));
+        boolean valid = hashingService.matches(request.getPassword(), user != null ? user.getPassword() : null);
+        if (!valid || !Boolean.TRUE.equals(user.getActive())) {
+            throw new BadCredentialsException("Invalid credentials");
+        }
+
+        if (hashingService.needsRehash(user.getPassword())) {
+            user.setPassword(hashingService.encode(request.getPassword()));
+            userRepository.save(user);
+        }
 
         // Generate token with EMAIL as subject (not username)
         String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name(), user.getId());
@@ -86,7 +93,7 @@ public class AuthService {
 
         User admin = User.builder()
                 .username(username)
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(hashingService.encode(request.getPassword()))
                 .fullName(request.getFullName())
                 .email(request.getEmail())
                 .role(UserRole.ADMIN)
@@ -94,6 +101,7 @@ public class AuthService {
                 .build();
 
         userRepository.save(admin);
+        dataVersions.bump(DataVersionService.Scope.USERS);
 
         // Generate token with EMAIL as subject
         String token = jwtUtil.generateToken(admin.getEmail(), admin.getRole().name(), admin.getId());
@@ -137,7 +145,7 @@ public class AuthService {
 
         User newUser = User.builder()
                 .username(username)
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(hashingService.encode(request.getPassword()))
                 .fullName(request.getFullName())
                 .email(request.getEmail())
                 .role(request.getRole())
@@ -145,6 +153,7 @@ public class AuthService {
                 .build();
 
         userRepository.save(newUser);
+        dataVersions.bump(DataVersionService.Scope.USERS);
 
         return AuthResponse.builder()
                 .id(newUser.getId())
@@ -186,69 +195,41 @@ public class AuthService {
 
     // Forgot Password Methods
 
-    private String generateOtp() {
-        int otp = 100000 + secureRandom.nextInt(900000);
-        return String.valueOf(otp);
-    }
-
-    @Transactional
     public void sendPasswordResetOtp(String email) {
-        User user = userRepository.findByEmail(email)
+        userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("No account found with this email address"));
 
-        // Delete any existing OTPs for this email
-        otpTokenRepository.deleteByEmail(email);
-
-        // Generate new OTP
-        String otp = generateOtp();
-
-        // Create OTP token (expires in 10 minutes)
-        OtpToken otpToken = OtpToken.builder()
-                .email(email)
-                .otp(otp)
-                .expiresAt(LocalDateTime.now().plusMinutes(10))
-                .used(false)
-                .build();
-
-        otpTokenRepository.save(otpToken);
+        String otp = otpStore.issue(email);
 
         // Send OTP via email
         emailService.sendOtpEmail(email, otp);
     }
 
     public boolean verifyOtp(String email, String otp) {
-        OtpToken otpToken = otpTokenRepository.findByEmailAndOtpAndUsedFalse(email, otp)
-                .orElseThrow(() -> new RuntimeException("Invalid OTP"));
-
-        if (otpToken.isExpired()) {
-            throw new RuntimeException("OTP has expired. Please request a new one.");
-        }
-
+        otpStore.verify(email, otp);
         return true;
     }
 
-    @Transactional
+    /**
+     * Hashes the new password before opening the transaction, so no
+     * connection is held while waiting on the password pool. The code is
+     * checked first so a wrong one costs no hash, and used up in the same
+     * transaction as the password change.
+     */
     public void resetPassword(String email, String otp, String newPassword) {
-        OtpToken otpToken = otpTokenRepository.findByEmailAndOtpAndUsedFalse(email, otp)
-                .orElseThrow(() -> new RuntimeException("Invalid OTP"));
-
-        if (otpToken.isExpired()) {
-            throw new RuntimeException("OTP has expired. Please request a new one.");
-        }
+        otpStore.verify(email, otp);
+        String encoded = hashingService.encode(newPassword);
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Mark OTP as used
-        otpToken.setUsed(true);
-        otpTokenRepository.save(otpToken);
+            otpStore.consume(email, otp);
 
-        // Cleanup expired tokens
-        otpTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+            // Update password
+            user.setPassword(encoded);
+            userRepository.save(user);
+        });
     }
 
     public void changeCurrentUserPassword(String email, String currentPassword, String newPassword) {
@@ -256,12 +237,12 @@ public class AuthService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Verify current password
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!hashingService.matches(currentPassword, user.getPassword())) {
             throw new RuntimeException("Current password is incorrect");
         }
 
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(hashingService.encode(newPassword));
         userRepository.save(user);
     }
 }
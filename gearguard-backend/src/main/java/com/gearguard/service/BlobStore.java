@@ -0,0 +1,338 @@
+package com.gearguard.service;
+
+import com.gearguard.model.Attachment;
+import com.gearguard.repository.AttachmentBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file storage for attachments.
+ *
+ * Blobs live under {@code <upload dir>/blobs/ab/cd/<sha256>} and are stored
+ * once no matter how many attachments reference them. The digest is computed
+ * while the upload is copied to a temp file, so content is read only once.
+ * Reference counts are kept in attachment_blobs; unreferenced blobs are
+ * removed by a background sweep after a grace period. The same sweep removes
+ * files under blobs/ that no row accounts for, which is what a rolled-back
+ * upload leaves behind.
+ */
+@Service
+public class BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobStore.class);
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.gc-grace-hours:24}")
+    private long gcGraceHours;
+
+    @Autowired
+    private AttachmentBlobRepository blobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
+    /**
+     * A blob staged in the temp area, hashed but not yet referenced.
+     */
+    public record StagedBlob(String contentHash, long size, Path tempFile) {
+    }
+
+    /**
+     * Copies the stream to a temp file while computing its SHA-256.
+     */
+    public StagedBlob stage(InputStream input) throws IOException {
+        Path tempDir = tempDir();
+        Files.createDirectories(tempDir);
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+
+        MessageDigest digest = newDigest();
+        try (DigestInputStream digestStream = new DigestInputStream(input, digest)) {
+            long size = Files.copy(digestStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return new StagedBlob(HexFormat.of().formatHex(digest.digest()), size, tempFile);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Hashes a file that was already written to disk (e.g. an assembled
+     * chunked upload) so it can be committed like a streamed upload. The file
+     * must be on the same file system as the blob directory. It is staged as
+     * a hard link, so committing or discarding never touches the original.
+     */
+    public StagedBlob stageFile(Path file) throws IOException {
+        Path tempDir = tempDir();
+        Files.createDirectories(tempDir);
+        Path tempFile = tempDir.resolve("upload-" + UUID.randomUUID() + ".part");
+        try {
+            Files.createLink(tempFile, file);
+        } catch (UnsupportedOperationException e) {
+            Files.copy(file, tempFile);
+        }
+
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        long size = 0;
+        try (InputStream input = Files.newInputStream(tempFile)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return new StagedBlob(HexFormat.of().formatHex(digest.digest()), size, tempFile);
+    }
+
+    /**
+     * Takes a reference on the staged content and moves it into place if this
+     * is the first copy. Must run inside the transaction that saves the
+     * referencing attachment, so a concurrent GC of the same digest is
+     * serialized on the blob row. If that transaction rolls back, the file is
+     * left for the orphan sweep: another upload of the same content may
+     * already rely on it.
+     */
+    public String commit(StagedBlob staged) throws IOException {
+        blobRepository.acquire(staged.contentHash(), staged.size());
+
+        Path target = resolve(staged.contentHash());
+        try {
+            if (Files.exists(target)) {
+                return staged.contentHash();
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(staged.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+                // A move keeps the temp file's age; the orphan sweep must not see it as old
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } catch (FileAlreadyExistsException e) {
+                // Another upload of the same content got there first
+            }
+            return staged.contentHash();
+        } finally {
+            Files.deleteIfExists(staged.tempFile());
+        }
+    }
+
+    public void discard(StagedBlob staged) {
+        try {
+            Files.deleteIfExists(staged.tempFile());
+        } catch (IOException e) {
+            logger.warn("Could not remove temp upload {}: {}", staged.tempFile(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drops one reference. The file stays until the GC sweep.
+     */
+    public void release(String contentHash) {
+        blobRepository.release(contentHash);
+    }
+
+    /**
+     * Location of an attachment's file, including files stored before
+     * deduplication under their original random name.
+     */
+    public Path resolve(Attachment attachment) {
+        if (attachment.getContentHash() != null) {
+            return resolve(attachment.getContentHash());
+        }
+        return Paths.get(uploadDir).resolve(attachment.getFilename());
+    }
+
+    public Path resolve(String contentHash) {
+        if (contentHash == null || !contentHash.matches("[0-9a-f]{64}")) {
+            throw new RuntimeException("Invalid content hash");
+        }
+        return Paths.get(uploadDir, "blobs", contentHash.substring(0, 2), contentHash.substring(2, 4), contentHash);
+    }
+
+    /**
+     * Scheduled job: delete blobs that have had no references for the grace
+     * period, orphaned blob files and stale temp uploads (runs nightly)
+     */
+    @Scheduled(cron = "${app.upload.gc-cron:0 45 3 * * *}")
+    public void collectGarbage() {
+        jobRunner.runExclusive("blob-gc", Duration.ofHours(1), this::removeUnreferencedBlobs);
+    }
+
+    private void removeUnreferencedBlobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(gcGraceHours);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int removed = 0;
+        for (String hash : blobRepository.findReleasedBefore(cutoff)) {
+            Boolean deleted = transactionTemplate.execute(status -> {
+                if (blobRepository.deleteIfUnreferenced(hash) == 0) {
+                    return false;
+                }
+                // Set aside under the row lock: an upload of the same content waiting on it
+                // finds no file and moves its own copy in. Deleted only once the row is gone.
+                Map<Path, Path> setAside = setAside(hash);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int completion) {
+                        setAside.forEach((original, aside) -> {
+                            if (completion == STATUS_COMMITTED) {
+                                deleteQuietly(aside);
+                            } else {
+                                putBack(aside, original);
+                            }
+                        });
+                    }
+                });
+                return true;
+            });
+            if (Boolean.TRUE.equals(deleted)) {
+                removed++;
+            }
+        }
+
+        removed += removeOrphanedBlobs(Instant.now().minus(gcGraceHours, ChronoUnit.HOURS));
+        removed += removeStaleTempFiles();
+        if (removed > 0) {
+            logger.info("Blob GC removed {} files", removed);
+        }
+    }
+
+    // Blob, thumbnail and failure marker, moved into the temp area
+    private Map<Path, Path> setAside(String hash) {
+        Path blob = resolve(hash);
+        Map<Path, Path> moved = new LinkedHashMap<>();
+        try {
+            Files.createDirectories(tempDir());
+            for (Path file : List.of(blob, blob.resolveSibling(hash + ThumbnailService.SUFFIX),
+                    blob.resolveSibling(hash + ThumbnailService.FAILED_SUFFIX))) {
+                if (Files.exists(file)) {
+                    Path aside = Files.createTempFile(tempDir(), "gc-", ".blob");
+                    Files.move(file, aside, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    moved.put(file, aside);
+                }
+            }
+        } catch (IOException e) {
+            moved.forEach(this::putBack);
+            throw new UncheckedIOException(e);
+        }
+        return moved;
+    }
+
+    private void putBack(Path aside, Path original) {
+        try {
+            Files.move(aside, original, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Same content re-uploaded meanwhile
+            deleteQuietly(aside);
+        } catch (IOException e) {
+            logger.warn("Could not restore {} after rolled back GC: {}", original, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not remove {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes blob files older than the cutoff that have no attachment_blobs
+     * row, with their thumbnails. Files from commits still in flight were
+     * touched when moved in, so they are never old enough.
+     */
+    private int removeOrphanedBlobs(Instant cutoff) {
+        Path blobDir = Paths.get(uploadDir, "blobs");
+        if (!Files.isDirectory(blobDir)) {
+            return 0;
+        }
+        int removed = 0;
+        try (Stream<Path> files = Files.find(blobDir, 3, (path, attributes) -> attributes.isRegularFile()
+                && path.getFileName().toString().matches("[0-9a-f]{64}")
+                && attributes.lastModifiedTime().toInstant().isBefore(cutoff))) {
+            for (Path file : files.toList()) {
+                String hash = file.getFileName().toString();
+                if (blobRepository.existsById(hash)) {
+                    continue;
+                }
+                Files.deleteIfExists(file.resolveSibling(hash + ThumbnailService.SUFFIX));
+                Files.deleteIfExists(file.resolveSibling(hash + ThumbnailService.FAILED_SUFFIX));
+                if (Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not sweep orphaned blobs: {}", e.getMessage());
+        }
+        return removed;
+    }
+
+    private int removeStaleTempFiles() {
+        Path tempDir = tempDir();
+        if (!Files.isDirectory(tempDir)) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(gcGraceHours, ChronoUnit.HOURS);
+        int removed = 0;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : files.toList()) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not sweep temp uploads: {}", e.getMessage());
+        }
+        return removed;
+    }
+
+    private Path tempDir() {
+        return Paths.get(uploadDir, "tmp");
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
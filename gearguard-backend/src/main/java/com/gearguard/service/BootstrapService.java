@@ -0,0 +1,139 @@
+package com.gearguard.service;
+
+import com.gearguard.dto.BootstrapDTO;
+import com.gearguard.dto.DashboardDTO;
+import com.gearguard.dto.DepartmentDTO;
+import com.gearguard.dto.TeamDTO;
+import com.gearguard.dto.UserDTO;
+import com.gearguard.model.User;
+import com.gearguard.repository.UserRepository;
+import com.gearguard.service.DashboardService.Widget;
+import com.gearguard.service.DataVersionService.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Assembles the app-start payload in one request: the caller, reference data,
+ * their unread notification count and the dashboard.
+ *
+ * The parts are loaded side by side on the bootstrap pool. Teams and
+ * departments are shared by every user and cached until a table they read
+ * changes, so most starts only run the per-user queries.
+ */
+@Service
+public class BootstrapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BootstrapService.class);
+
+    private record Cached<T>(T value, long[] versions) {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EquipmentService equipmentService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    @Qualifier("bootstrapExecutor")
+    private Executor bootstrapExecutor;
+
+    // Replaced whole, never mutated; a race only costs a duplicate load
+    private volatile Cached<List<TeamDTO>> teams;
+    private volatile Cached<List<DepartmentDTO>> departments;
+
+    public BootstrapDTO bootstrap(String email, Set<Widget> widgets) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        CompletableFuture<List<TeamDTO>> teamsFuture = CompletableFuture.supplyAsync(this::teams, bootstrapExecutor);
+        CompletableFuture<List<DepartmentDTO>> departmentsFuture =
+                CompletableFuture.supplyAsync(this::departments, bootstrapExecutor);
+        CompletableFuture<Long> unreadFuture = CompletableFuture.supplyAsync(
+                () -> notificationService.getUnreadCount(user.getId()), bootstrapExecutor);
+        // Fans out to the dashboard pool and applies its own time budget
+        CompletableFuture<DashboardDTO> dashboardFuture = CompletableFuture.supplyAsync(
+                () -> dashboardService.getDashboardStats(widgets), bootstrapExecutor);
+
+        return BootstrapDTO.builder()
+                .user(UserDTO.builder()
+                        .id(user.getId())
+                        .username(user.getUsername())
+                        .fullName(user.getFullName())
+                        .email(user.getEmail())
+                        .role(user.getRole())
+                        .avatarUrl(user.getAvatarUrl())
+                        .active(user.getActive())
+                        .build())
+                .equipmentCategories(equipmentService.getCategories())
+                .teams(join("teams", teamsFuture))
+                .departments(join("departments", departmentsFuture))
+                .unreadNotifications(join("unreadNotifications", unreadFuture))
+                .dashboard(join("dashboard", dashboardFuture))
+                .build();
+    }
+
+    private List<TeamDTO> teams() {
+        long[] versions = versions(Scope.TEAMS, Scope.USERS, Scope.REQUESTS);
+        Cached<List<TeamDTO>> cached = teams;
+        if (cached == null || !Arrays.equals(cached.versions(), versions)) {
+            cached = new Cached<>(List.copyOf(teamService.getAllTeams()), versions);
+            teams = cached;
+        }
+        return cached.value();
+    }
+
+    private List<DepartmentDTO> departments() {
+        long[] versions = versions(Scope.DEPARTMENTS, Scope.USERS, Scope.EQUIPMENT);
+        Cached<List<DepartmentDTO>> cached = departments;
+        if (cached == null || !Arrays.equals(cached.versions(), versions)) {
+            cached = new Cached<>(List.copyOf(departmentService.getAllDepartments()), versions);
+            departments = cached;
+        }
+        return cached.value();
+    }
+
+    private long[] versions(Scope... scopes) {
+        long[] versions = new long[scopes.length];
+        for (int i = 0; i < scopes.length; i++) {
+            versions[i] = dataVersions.current(scopes[i]);
+        }
+        return versions;
+    }
+
+    // A part that fails is left out; the client falls back to its own endpoint
+    private <T> T join(String part, CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warn("Bootstrap part {} failed: {}", part, cause.getMessage());
+            return null;
+        }
+    }
+}
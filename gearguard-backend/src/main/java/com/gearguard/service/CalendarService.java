@@ -0,0 +1,128 @@
+package com.gearguard.service;
+
+import com.gearguard.dto.CalendarDTO;
+import com.gearguard.dto.CalendarItemDTO;
+import com.gearguard.model.enums.Priority;
+import com.gearguard.repository.MaintenanceRequestRepository;
+import com.gearguard.service.DataVersionService.Scope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-day calendar buckets for scheduled maintenance.
+ *
+ * Month and quarter views only carry counts by priority (one grouped query);
+ * day and week views additionally carry the request items, loaded through a
+ * projection instead of full entities.
+ */
+@Service
+public class CalendarService {
+
+    private static final long MAX_RANGE_DAYS = 100;
+    private static final long MAX_DETAIL_RANGE_DAYS = 7;
+
+    @Autowired
+    private MaintenanceRequestRepository requestRepository;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    /**
+     * Resolves the [start, end] range for a view anchored at a date.
+     */
+    public LocalDate[] resolveRange(String view, LocalDate anchor) {
+        LocalDate date = anchor != null ? anchor : LocalDate.now();
+        return switch (view) {
+            case "day" -> new LocalDate[] { date, date };
+            case "week" -> new LocalDate[] {
+                    date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)) };
+            case "month" -> new LocalDate[] {
+                    date.withDayOfMonth(1),
+                    date.with(TemporalAdjusters.lastDayOfMonth()) };
+            case "quarter" -> {
+                LocalDate quarterStart = date.with(IsoFields.DAY_OF_QUARTER, 1);
+                yield new LocalDate[] { quarterStart, quarterStart.plusMonths(3).minusDays(1) };
+            }
+            default -> throw new RuntimeException("Unknown calendar view: " + view);
+        };
+    }
+
+    /**
+     * Weak validator for a range, derived from row count and latest change
+     * time. Computed by one index-backed aggregate before any bucket work.
+     * Items show equipment, team and assignee names, whose renames do not
+     * touch the requests, so those data versions are part of the tag too.
+     */
+    public String getETag(String view, LocalDate start, LocalDate end) {
+        validateRange(start, end);
+        List<Object[]> rows = requestRepository.fingerprintForCalendar(start, end);
+        Object[] row = rows.isEmpty() ? new Object[] { 0L, null } : rows.get(0);
+        LocalDateTime lastChange = (LocalDateTime) row[1];
+        String fingerprint = view + "|" + start + "|" + end + "|" + row[0] + "|"
+                + (lastChange != null ? lastChange.toString() : "-") + "|"
+                + dataVersions.current(Scope.EQUIPMENT) + "|"
+                + dataVersions.current(Scope.TEAMS) + "|"
+                + dataVersions.current(Scope.USERS);
+        return "W/\"cal-" + Integer.toHexString(fingerprint.hashCode()) + "\"";
+    }
+
+    public CalendarDTO getCalendar(String view, LocalDate start, LocalDate end) {
+        long days = validateRange(start, end);
+
+        Map<LocalDate, CalendarDTO.DayBucket> buckets = new TreeMap<>();
+        long total = 0;
+        for (Object[] row : requestRepository.countByDayAndPriority(start, end)) {
+            LocalDate date = (LocalDate) row[0];
+            Priority priority = (Priority) row[1];
+            long count = (Long) row[2];
+
+            CalendarDTO.DayBucket bucket = buckets.computeIfAbsent(date, d -> CalendarDTO.DayBucket.builder()
+                    .date(d)
+                    .byPriority(new EnumMap<>(Priority.class))
+                    .build());
+            bucket.getByPriority().merge(priority != null ? priority : Priority.MEDIUM, count, Long::sum);
+            bucket.setTotal(bucket.getTotal() + count);
+            total += count;
+        }
+
+        if (days <= MAX_DETAIL_RANGE_DAYS && !buckets.isEmpty()) {
+            Map<LocalDate, List<CalendarItemDTO>> itemsByDay = requestRepository.findAllForCalendar(start, end).stream()
+                    .collect(Collectors.groupingBy(CalendarItemDTO::getScheduledDate));
+            buckets.forEach((date, bucket) -> bucket.setItems(itemsByDay.getOrDefault(date, List.of())));
+        }
+
+        return CalendarDTO.builder()
+                .view(view)
+                .start(start)
+                .end(end)
+                .total(total)
+                .days(new ArrayList<>(buckets.values()))
+                .build();
+    }
+
+    // Checked before any query so an oversized range costs nothing
+    private long validateRange(LocalDate start, LocalDate end) {
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        if (days <= 0) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (days > MAX_RANGE_DAYS) {
+            throw new RuntimeException("Calendar range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        return days;
+    }
+}
@@ -0,0 +1,285 @@
+package com.gearguard.service;
+
+import com.gearguard.dto.InitUploadRequest;
+import com.gearguard.dto.UploadSessionDTO;
+import com.gearguard.model.Attachment;
+import com.gearguard.model.UploadSession;
+import com.gearguard.model.User;
+import com.gearguard.repository.UploadSessionRepository;
+import com.gearguard.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resumable uploads: init a session, PUT chunks at byte offsets, then
+ * complete. Chunks are streamed from the request body straight into a
+ * preallocated file with positional writes, so neither multipart buffering
+ * nor the multipart size limit applies. On completion the file is hashed,
+ * checked against the client's checksum and moved into the blob store.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.chunked.max-size:2147483648}")
+    private long maxUploadSize;
+
+    @Value("${app.upload.chunked.max-chunk-size:8388608}")
+    private int maxChunkSize;
+
+    @Value("${app.upload.chunked.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    @Autowired
+    private UploadSessionRepository sessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public UploadSessionDTO initUpload(InitUploadRequest request) throws IOException {
+        if (request.getTotalSize() > maxUploadSize) {
+            throw new RuntimeException("File exceeds the maximum upload size of " + maxUploadSize + " bytes");
+        }
+        String expectedSha256 = request.getSha256() != null ? request.getSha256().toLowerCase() : null;
+        if (expectedSha256 != null && !expectedSha256.matches("[0-9a-f]{64}")) {
+            throw new RuntimeException("sha256 must be 64 hex characters");
+        }
+
+        UploadSession session = UploadSession.builder()
+                .id(UUID.randomUUID().toString())
+                .originalFilename(request.getFilename())
+                .contentType(request.getContentType())
+                .entityType(request.getEntityType())
+                .entityId(request.getEntityId())
+                .totalSize(request.getTotalSize())
+                .expectedSha256(expectedSha256)
+                .createdBy(getCurrentUserId())
+                .expiresAt(LocalDateTime.now().plusHours(sessionTtlHours))
+                .build();
+
+        // Preallocate so chunks can land at any offset (sparse where supported)
+        Path file = sessionFile(session.getId());
+        Files.createDirectories(file.getParent());
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(session.getTotalSize());
+        }
+
+        return toDTO(sessionRepository.save(session));
+    }
+
+    public UploadSessionDTO getStatus(String sessionId) {
+        return toDTO(findOwnedSession(sessionId));
+    }
+
+    /**
+     * Writes one chunk at the given offset. The offset may not be past the
+     * bytes already received, so the file is always a contiguous prefix and
+     * a resumed client restarts from receivedBytes. Not transactional: no
+     * connection is held while the body streams in, and the offset is
+     * recorded in a short transaction afterwards.
+     */
+    public UploadSessionDTO writeChunk(String sessionId, long offset, long contentLength, InputStream body)
+            throws IOException {
+        UploadSession session = findOwnedSession(sessionId);
+        if (offset < 0 || offset > session.getReceivedBytes()) {
+            throw new RuntimeException("Chunk offset must be between 0 and " + session.getReceivedBytes());
+        }
+        if (contentLength > maxChunkSize) {
+            throw new RuntimeException("Chunk exceeds the maximum chunk size of " + maxChunkSize + " bytes");
+        }
+        long limit = Math.min(session.getTotalSize() - offset, maxChunkSize);
+
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(sessionFile(sessionId), StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (written + read > limit) {
+                    throw new RuntimeException("Chunk runs past the declared file size or chunk limit");
+                }
+                ByteBuffer source = ByteBuffer.wrap(buffer, 0, read);
+                while (source.hasRemaining()) {
+                    written += channel.write(source, offset + written);
+                }
+            }
+        }
+
+        long end = offset + written;
+        return toDTO(new TransactionTemplate(transactionManager).execute(status -> {
+            sessionRepository.advance(sessionId, offset, end, LocalDateTime.now().plusHours(sessionTtlHours));
+            return sessionRepository.findById(sessionId).orElseThrow();
+        }));
+    }
+
+    /**
+     * Turns a fully received session into an attachment. The file is hashed
+     * before any transaction opens, so no connection waits on a large file;
+     * the session deletion and attachment record then commit together in a
+     * short transaction. The session file is staged as a link and only
+     * removed once that commits, so a failed completion leaves the session
+     * intact for a retry.
+     */
+    public Attachment completeUpload(String sessionId) throws IOException {
+        UploadSession session = findOwnedSession(sessionId);
+        if (session.getReceivedBytes() < session.getTotalSize()) {
+            throw new RuntimeException("Upload incomplete: received " + session.getReceivedBytes()
+                    + " of " + session.getTotalSize() + " bytes");
+        }
+
+        Path file = sessionFile(sessionId);
+        BlobStore.StagedBlob staged = blobStore.stageFile(file);
+        if (session.getExpectedSha256() != null && !session.getExpectedSha256().equals(staged.contentHash())) {
+            blobStore.discard(staged);
+            throw new RuntimeException("Checksum mismatch: expected " + session.getExpectedSha256()
+                    + " but received " + staged.contentHash());
+        }
+
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                // A concurrent completion of the same session got here first
+                if (sessionRepository.deleteSession(sessionId) == 0) {
+                    throw new RuntimeException("Upload session not found");
+                }
+                deleteAfterCommit(file);
+                try {
+                    return attachmentService.storeAttachment(staged, session.getOriginalFilename(),
+                            session.getContentType(), session.getEntityType(), session.getEntityId());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            blobStore.discard(staged);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            blobStore.discard(staged);
+            throw e;
+        }
+    }
+
+    @Transactional
+    public void abortUpload(String sessionId) throws IOException {
+        UploadSession session = findOwnedSession(sessionId);
+        sessionRepository.delete(session);
+        deleteAfterCommit(sessionFile(sessionId));
+    }
+
+    private void deleteAfterCommit(Path file) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.warn("Could not remove upload file {}: {}", file, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Scheduled job: remove sessions that stopped receiving chunks
+     * (runs hourly)
+     */
+    @Scheduled(fixedDelayString = "${app.upload.chunked.sweep-interval-ms:3600000}")
+    public void removeExpiredSessions() {
+        jobRunner.runExclusive("upload-session-sweep", Duration.ofMinutes(30), this::sweepExpiredSessions);
+    }
+
+    private void sweepExpiredSessions() {
+        int removed = 0;
+        for (UploadSession session : sessionRepository.findByExpiresAtBefore(LocalDateTime.now())) {
+            try {
+                Files.deleteIfExists(sessionFile(session.getId()));
+                sessionRepository.delete(session);
+                removed++;
+            } catch (IOException e) {
+                logger.warn("Could not remove upload session {}: {}", session.getId(), e.getMessage());
+            }
+        }
+        if (removed > 0) {
+            logger.info("Removed {} expired upload sessions", removed);
+        }
+    }
+
+    private UploadSession findOwnedSession(String sessionId) {
+        UploadSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("Upload session not found"));
+        Long userId = getCurrentUserId();
+        if (session.getCreatedBy() != null && !session.getCreatedBy().equals(userId)) {
+            throw new RuntimeException("Upload session not found");
+        }
+        return session;
+    }
+
+    private Path sessionFile(String sessionId) {
+        // Same file system as the blob store so completion is a rename
+        return Paths.get(uploadDir, "sessions", UUID.fromString(sessionId) + ".part");
+    }
+
+    private UploadSessionDTO toDTO(UploadSession session) {
+        return UploadSessionDTO.builder()
+                .id(session.getId())
+                .filename(session.getOriginalFilename())
+                .totalSize(session.getTotalSize())
+                .receivedBytes(session.getReceivedBytes())
+                .maxChunkSize(maxChunkSize)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    private Long getCurrentUserId() {
+        try {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null) {
+                return userRepository.findByEmail(auth.getName()).map(User::getId).orElse(null);
+            }
+        } catch (Exception e) {
+            // Ignore
+        }
+        return null;
+    }
+}
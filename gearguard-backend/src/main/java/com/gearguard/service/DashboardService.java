@@ -1,152 +1,222 @@
 package com.gearguard.service;
 
+import com.gearguard.config.DashboardProperties;
+import com.gearguard.config.ReplicaRouter;
 import com.gearguard.dto.DashboardDTO;
-import com.gearguard.model.MaintenanceRequest;
-import com.gearguard.model.MaintenanceTeam;
-import com.gearguard.model.enums.RequestStage;
-import com.gearguard.repository.EquipmentRepository;
-import com.gearguard.repository.MaintenanceRequestRepository;
-import com.gearguard.repository.MaintenanceTeamRepository;
+import com.gearguard.service.DataVersionService.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the dashboard from independent widgets computed side by side on
+ * the dashboard pool.
+ *
+ * Each widget is cached until its TTL runs out or one of the tables it reads
+ * changes, and concurrent requests share a single refresh. A request waits at
+ * most the configured timeout for all its widgets together; a widget that
+ * misses it (or fails, or is shed by a full pool) is served stale if an older
+ * value exists and is otherwise left out and listed in {@code degraded}. The
+ * refresh keeps running and fills the cache for the next poll.
+ *
+ * Widgets are computed on the primary: a value read from a lagging replica
+ * would be cached under the primary's newer data versions and served as
+ * fresh until its TTL ran out.
+ */
 @Service
 public class DashboardService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    public enum Widget {
+        SUMMARY(Scope.EQUIPMENT, Scope.REQUESTS),
+        TEAMS(Scope.TEAMS, Scope.REQUESTS),
+        STATUS(Scope.REQUESTS),
+        CATEGORIES(Scope.EQUIPMENT, Scope.REQUESTS),
+        ACTIVITY(Scope.REQUESTS);
+
+        private final Scope[] scopes;
+
+        Widget(Scope... scopes) {
+            this.scopes = scopes;
+        }
+
+        public String key() {
+            return name().toLowerCase();
+        }
+
+        public static Widget fromKey(String key) {
+            try {
+                return valueOf(key.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unknown dashboard widget: " + key);
+            }
+        }
+
+        /**
+         * Parses a comma-separated list of widget keys; null or blank means all.
+         */
+        public static Set<Widget> parse(String keys) {
+            if (keys == null || keys.isBlank()) {
+                return EnumSet.allOf(Widget.class);
+            }
+            Set<Widget> widgets = EnumSet.noneOf(Widget.class);
+            for (String key : keys.split(",")) {
+                widgets.add(fromKey(key));
+            }
+            return widgets;
+        }
+    }
+
+    private record Cached(Object value, long[] versions, long expiresAt) {
+    }
+
     @Autowired
-    private MaintenanceRequestRepository requestRepository;
+    private DashboardWidgetService widgets;
 
     @Autowired
-    private EquipmentRepository equipmentRepository;
+    private DataVersionService dataVersions;
 
     @Autowired
-    private MaintenanceTeamRepository teamRepository;
+    private DashboardProperties properties;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private Executor dashboardExecutor;
+
+    private final Map<Widget, Cached> cache = new ConcurrentHashMap<>();
+    private final Map<Widget, CompletableFuture<Object>> refreshing = new ConcurrentHashMap<>();
 
     public DashboardDTO getDashboardStats() {
-        // Summary stats
-        long totalEquipment = equipmentRepository.count();
-        long activeRequests = requestRepository.countByStage(RequestStage.NEW) +
-                requestRepository.countByStage(RequestStage.IN_PROGRESS);
-        long overdueRequests = requestRepository.countByIsOverdueTrue();
-        long completedToday = requestRepository.countCompletedToday(LocalDate.now().atStartOfDay());
-
-        // Requests by team
-        List<DashboardDTO.TeamRequestCount> requestsByTeam = new ArrayList<>();
-        List<MaintenanceTeam> teams = teamRepository.findAll();
-        for (MaintenanceTeam team : teams) {
-            long count = requestRepository.countByAssignedTeamIdAndStageNot(team.getId(), RequestStage.REPAIRED) +
-                    requestRepository.countByAssignedTeamIdAndStageNot(team.getId(), RequestStage.SCRAP);
-            // Actually get total requests for this team
-            long totalTeamRequests = requestRepository.findByAssignedTeamId(team.getId()).size();
-            requestsByTeam.add(DashboardDTO.TeamRequestCount.builder()
-                    .name(team.getName())
-                    .requests(totalTeamRequests)
-                    .color(team.getColor())
-                    .build());
-        }
+        return getDashboardStats(EnumSet.allOf(Widget.class));
+    }
 
-        // Requests by status
-        List<DashboardDTO.StatusCount> requestsByStatus = Arrays.asList(
-                DashboardDTO.StatusCount.builder()
-                        .name("New")
-                        .value(requestRepository.countByStage(RequestStage.NEW))
-                        .color("#6366f1")
-                        .build(),
-                DashboardDTO.StatusCount.builder()
-                        .name("In Progress")
-                        .value(requestRepository.countByStage(RequestStage.IN_PROGRESS))
-                        .color("#f59e0b")
-                        .build(),
-                DashboardDTO.StatusCount.builder()
-                        .name("Repaired")
-                        .value(requestRepository.countByStage(RequestStage.REPAIRED))
-                        .color("#10b981")
-                        .build(),
-                DashboardDTO.StatusCount.builder()
-                        .name("Scrap")
-                        .value(requestRepository.countByStage(RequestStage.SCRAP))
-                        .color("#6b7280")
-                        .build());
-
-        // Equipment by category
-        List<DashboardDTO.CategoryCount> equipmentByCategory = new ArrayList<>();
-        List<Object[]> categoryCounts = requestRepository.countByCategory();
-        for (Object[] row : categoryCounts) {
-            equipmentByCategory.add(DashboardDTO.CategoryCount.builder()
-                    .name(row[0] != null ? row[0].toString() : "Uncategorized")
-                    .count((Long) row[1])
-                    .build());
+    public DashboardDTO getDashboardStats(Set<Widget> requested) {
+        Map<Widget, CompletableFuture<Object>> pending = new EnumMap<>(Widget.class);
+        Map<Widget, Object> values = new EnumMap<>(Widget.class);
+        for (Widget widget : requested) {
+            Cached cached = cache.get(widget);
+            if (cached != null && isFresh(widget, cached)) {
+                values.put(widget, cached.value());
+            } else {
+                pending.put(widget, refresh(widget));
+            }
         }
 
-        // Recent activity (last 10 requests)
-        List<DashboardDTO.RecentActivity> recentActivity = new ArrayList<>();
-        List<MaintenanceRequest> recentRequests = requestRepository.findAllForKanban();
-        int count = 0;
-        for (MaintenanceRequest req : recentRequests) {
-            if (count >= 5)
-                break;
-            String type = "new";
-            String message = req.getSubject();
-
-            if (req.getStage() == RequestStage.REPAIRED) {
-                type = "success";
-                message = req.getSubject() + " marked as repaired";
-            } else if (req.getIsOverdue()) {
-                type = "overdue";
-                message = "Overdue: " + req.getSubject();
-            } else if (req.getScheduledDate() != null && req.getScheduledDate().isAfter(LocalDate.now())) {
-                type = "scheduled";
-                message = req.getSubject() + " scheduled";
+        List<String> degraded = new ArrayList<>();
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        for (Map.Entry<Widget, CompletableFuture<Object>> entry : pending.entrySet()) {
+            Widget widget = entry.getKey();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                values.put(widget, entry.getValue().get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException | ExecutionException e) {
+                Cached stale = cache.get(widget);
+                if (stale != null) {
+                    values.put(widget, stale.value());
+                }
+                degraded.add(widget.key());
+                logger.warn("Dashboard widget {} {}", widget.key(),
+                        e instanceof TimeoutException ? "timed out" : "failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                degraded.add(widget.key());
             }
+        }
 
-            String timeAgo = getTimeAgo(req.getCreatedAt());
-
-            recentActivity.add(DashboardDTO.RecentActivity.builder()
-                    .id(req.getId())
-                    .message(message)
-                    .time(timeAgo)
-                    .type(type)
-                    .build());
-            count++;
+        DashboardDTO.DashboardDTOBuilder dashboard = DashboardDTO.builder();
+        values.forEach((widget, value) -> apply(dashboard, widget, value));
+        if (!degraded.isEmpty()) {
+            dashboard.degraded(degraded);
         }
+        return dashboard.build();
+    }
 
-        return DashboardDTO.builder()
-                .totalEquipment(totalEquipment)
-                .activeRequests(activeRequests)
-                .completedToday(completedToday)
-                .overdueRequests(overdueRequests)
-                .requestsByTeam(requestsByTeam)
-                .requestsByStatus(requestsByStatus)
-                .equipmentByCategory(equipmentByCategory)
-                .recentActivity(recentActivity)
-                .build();
+    private boolean isFresh(Widget widget, Cached cached) {
+        return System.currentTimeMillis() < cached.expiresAt()
+                && Arrays.equals(cached.versions(), versions(widget));
     }
 
-    private String getTimeAgo(LocalDateTime dateTime) {
-        if (dateTime == null)
-            return "Recently";
+    /**
+     * Starts recomputing a widget unless a refresh is already running, in
+     * which case the caller shares it.
+     */
+    private CompletableFuture<Object> refresh(Widget widget) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> running = refreshing.putIfAbsent(widget, created);
+        if (running != null) {
+            return running;
+        }
 
-        long minutes = ChronoUnit.MINUTES.between(dateTime, LocalDateTime.now());
-        if (minutes < 1)
-            return "Just now";
-        if (minutes < 60)
-            return minutes + " min ago";
+        try {
+            dashboardExecutor.execute(() -> {
+                ReplicaRouter.pinToPrimary();
+                try {
+                    // Versions read first: a change during the query leaves the entry stale
+                    long[] versions = versions(widget);
+                    Object value = compute(widget).get();
+                    long ttl = properties.ttl(widget.key()).toMillis();
+                    cache.put(widget, new Cached(value, versions, System.currentTimeMillis() + ttl));
+                    refreshing.remove(widget, created);
+                    created.complete(value);
+                } catch (Throwable e) {
+                    refreshing.remove(widget, created);
+                    created.completeExceptionally(e);
+                } finally {
+                    ReplicaRouter.unpin();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshing.remove(widget, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
 
-        long hours = ChronoUnit.HOURS.between(dateTime, LocalDateTime.now());
-        if (hours < 24)
-            return hours + " hour" + (hours > 1 ? "s" : "") + " ago";
+    private Supplier<Object> compute(Widget widget) {
+        return switch (widget) {
+            case SUMMARY -> widgets::summary;
+            case TEAMS -> widgets::requestsByTeam;
+            case STATUS -> widgets::requestsByStatus;
+            case CATEGORIES -> widgets::equipmentByCategory;
+            case ACTIVITY -> widgets::recentActivity;
+        };
+    }
 
-        long days = ChronoUnit.DAYS.between(dateTime, LocalDateTime.now());
-        if (days < 7)
-            return days + " day" + (days > 1 ? "s" : "") + " ago";
+    @SuppressWarnings("unchecked")
+    private void apply(DashboardDTO.DashboardDTOBuilder dashboard, Widget widget, Object value) {
+        switch (widget) {
+            case SUMMARY -> {
+                DashboardDTO summary = (DashboardDTO) value;
+                dashboard.totalEquipment(summary.getTotalEquipment())
+                        .activeRequests(summary.getActiveRequests())
+                        .completedToday(summary.getCompletedToday())
+                        .overdueRequests(summary.getOverdueRequests());
+            }
+            case TEAMS -> dashboard.requestsByTeam((List<DashboardDTO.TeamRequestCount>) value);
+            case STATUS -> dashboard.requestsByStatus((List<DashboardDTO.StatusCount>) value);
+            case CATEGORIES -> dashboard.equipmentByCategory((List<DashboardDTO.CategoryCount>) value);
+            case ACTIVITY -> dashboard.recentActivity((List<DashboardDTO.RecentActivity>) value);
+        }
+    }
 
-        return dateTime.format(DateTimeFormatter.ofPattern("MMM d"));
+    private long[] versions(Widget widget) {
+        long[] versions = new long[widget.scopes.length];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = dataVersions.current(widget.scopes[i]);
+        }
+        return versions;
     }
 }
@@ -0,0 +1,156 @@
+package com.gearguard.service;
+
+import com.gearguard.dto.DashboardDTO;
+import com.gearguard.model.MaintenanceRequest;
+import com.gearguard.model.MaintenanceTeam;
+import com.gearguard.model.enums.RequestStage;
+import com.gearguard.repository.EquipmentRepository;
+import com.gearguard.repository.MaintenanceRequestRepository;
+import com.gearguard.repository.MaintenanceTeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * The queries behind each dashboard widget. Each method is its own read-only
+ * transaction so {@link DashboardService} can run them on separate threads.
+ * They run on the primary; see {@link DashboardService} for why.
+ */
+@Service
+public class DashboardWidgetService {
+
+    @Autowired
+    private MaintenanceRequestRepository requestRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private MaintenanceTeamRepository teamRepository;
+
+    @Transactional(readOnly = true)
+    public DashboardDTO summary() {
+        long activeRequests = requestRepository.countByStage(RequestStage.NEW) +
+                requestRepository.countByStage(RequestStage.IN_PROGRESS);
+        return DashboardDTO.builder()
+                .totalEquipment(equipmentRepository.count())
+                .activeRequests(activeRequests)
+                .overdueRequests(requestRepository.countByIsOverdueTrue())
+                .completedToday(requestRepository.countCompletedToday(LocalDate.now().atStartOfDay()))
+                .build();
+    }
+
+    // Total requests per team, every stage included; teams without requests show zero
+    @Transactional(readOnly = true)
+    public List<DashboardDTO.TeamRequestCount> requestsByTeam() {
+        Map<Long, Long> totals = new HashMap<>();
+        for (Object[] row : requestRepository.countByTeamAndStage()) {
+            totals.merge((Long) row[0], (Long) row[2], Long::sum);
+        }
+
+        List<DashboardDTO.TeamRequestCount> requestsByTeam = new ArrayList<>();
+        for (MaintenanceTeam team : teamRepository.findAll()) {
+            requestsByTeam.add(DashboardDTO.TeamRequestCount.builder()
+                    .name(team.getName())
+                    .requests(totals.getOrDefault(team.getId(), 0L))
+                    .color(team.getColor())
+                    .build());
+        }
+        return requestsByTeam;
+    }
+
+    @Transactional(readOnly = true)
+    public List<DashboardDTO.StatusCount> requestsByStatus() {
+        return Arrays.asList(
+                DashboardDTO.StatusCount.builder()
+                        .name("New")
+                        .value(requestRepository.countByStage(RequestStage.NEW))
+                        .color("#6366f1")
+                        .build(),
+                DashboardDTO.StatusCount.builder()
+                        .name("In Progress")
+                        .value(requestRepository.countByStage(RequestStage.IN_PROGRESS))
+                        .color("#f59e0b")
+                        .build(),
+                DashboardDTO.StatusCount.builder()
+                        .name("Repaired")
+                        .value(requestRepository.countByStage(RequestStage.REPAIRED))
+                        .color("#10b981")
+                        .build(),
+                DashboardDTO.StatusCount.builder()
+                        .name("Scrap")
+                        .value(requestRepository.countByStage(RequestStage.SCRAP))
+                        .color("#6b7280")
+                        .build());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DashboardDTO.CategoryCount> equipmentByCategory() {
+        List<DashboardDTO.CategoryCount> equipmentByCategory = new ArrayList<>();
+        for (Object[] row : requestRepository.countByCategory()) {
+            equipmentByCategory.add(DashboardDTO.CategoryCount.builder()
+                    .name(row[0] != null ? row[0].toString() : "Uncategorized")
+                    .count((Long) row[1])
+                    .build());
+        }
+        return equipmentByCategory;
+    }
+
+    // Last 5 requests
+    @Transactional(readOnly = true)
+    public List<DashboardDTO.RecentActivity> recentActivity() {
+        List<DashboardDTO.RecentActivity> recentActivity = new ArrayList<>();
+        for (MaintenanceRequest req : requestRepository.findTop5ByOrderByCreatedAtDescIdDesc()) {
+            String type = "new";
+            String message = req.getSubject();
+
+            if (req.getStage() == RequestStage.REPAIRED) {
+                type = "success";
+                message = req.getSubject() + " marked as repaired";
+            } else if (req.getIsOverdue()) {
+                type = "overdue";
+                message = "Overdue: " + req.getSubject();
+            } else if (req.getScheduledDate() != null && req.getScheduledDate().isAfter(LocalDate.now())) {
+                type = "scheduled";
+                message = req.getSubject() + " scheduled";
+            }
+
+            String timeAgo = getTimeAgo(req.getCreatedAt());
+
+            recentActivity.add(DashboardDTO.RecentActivity.builder()
+                    .id(req.getId())
+                    .message(message)
+                    .time(timeAgo)
+                    .type(type)
+                    .build());
+        }
+        return recentActivity;
+    }
+
+    private String getTimeAgo(LocalDateTime dateTime) {
+        if (dateTime == null)
+            return "Recently";
+
+        long minutes = ChronoUnit.MINUTES.between(dateTime, LocalDateTime.now());
+        if (minutes < 1)
+            return "Just now";
+        if (minutes < 60)
+            return minutes + " min ago";
+
+        long hours = ChronoUnit.HOURS.between(dateTime, LocalDateTime.now());
+        if (hours < 24)
+            return hours + " hour" + (hours > 1 ? "s" : "") + " ago";
+
+        long days = ChronoUnit.DAYS.between(dateTime, LocalDateTime.now());
+        if (days < 7)
+            return days + " day" + (days > 1 ? "s" : "") + " ago";
+
+        return dateTime.format(DateTimeFormatter.ofPattern("MMM d"));
+    }
+}
@@ -0,0 +1,383 @@
+package com.gearguard.service;
+
+import com.gearguard.config.BatchWorkload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Lifecycle management for the append-only tables (audit_logs, notifications).
+ *
+ * Each table is range-partitioned by month on created_at. Partitions older
+ * than the table's retention are detached, written to a gzip JSONL archive
+ * under the archive directory and dropped. An archived month can be restored
+ * on demand; restored partitions are kept for a hold period before the next
+ * run archives them again.
+ */
+@Service
+public class DataRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataRetentionService.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String RESTORED_MARKER = "restored:";
+    private static final int RESTORE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
+    @Autowired
+    private PartitionConverter partitionConverter;
+
+    @Value("${app.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.retention.archive-dir:archives}")
+    private String archiveDir;
+
+    @Value("${app.retention.months-ahead:2}")
+    private int monthsAhead;
+
+    @Value("${app.retention.restore-hold-days:7}")
+    private int restoreHoldDays;
+
+    @Value("${app.retention.audit-logs.months:12}")
+    private int auditLogRetentionMonths;
+
+    @Value("${app.retention.notifications.months:6}")
+    private int notificationRetentionMonths;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Managed tables and their retention in months. Table names used in SQL
+     * only ever come from this map.
+     */
+    public Map<String, Integer> getManagedTables() {
+        Map<String, Integer> tables = new LinkedHashMap<>();
+        tables.put("audit_logs", auditLogRetentionMonths);
+        tables.put("notifications", notificationRetentionMonths);
+        return tables;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        // One node converts the tables; the others see them already partitioned
+        jobRunner.runExclusive("partition-setup", Duration.ofMinutes(30), this::preparePartitions);
+    }
+
+    private void preparePartitions() {
+        for (String table : getManagedTables().keySet()) {
+            try {
+                ensurePartitioned(table);
+                createUpcomingPartitions(table);
+            } catch (Exception e) {
+                logger.error("Failed to prepare partitions for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Scheduled job: create upcoming partitions and archive expired ones
+     * (runs nightly)
+     */
+    @Scheduled(cron = "${app.retention.cron:0 15 3 * * *}")
+    public void runRetention() {
+        runRetentionNow();
+    }
+
+    /**
+     * Runs retention unless another node is already doing so. Returns false
+     * when skipped.
+     */
+    public boolean runRetentionNow() {
+        if (!enabled) {
+            return false;
+        }
+        return jobRunner.runExclusive("data-retention", Duration.ofHours(2), this::applyRetention);
+    }
+
+    private void applyRetention() {
+        for (Map.Entry<String, Integer> entry : getManagedTables().entrySet()) {
+            try {
+                createUpcomingPartitions(entry.getKey());
+                archiveExpiredPartitions(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                logger.error("Retention run failed for {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Converts a plain table created by Hibernate into a partitioned one,
+     * moving existing rows into monthly partitions. No-op if already
+     * partitioned. Existing databases are converted before Hibernate starts;
+     * this covers tables Hibernate has just created.
+     */
+    public void ensurePartitioned(String table) {
+        partitionConverter.ensurePartitioned(table);
+    }
+
+    public void createUpcomingPartitions(String table) {
+        if (!isPartitioned(table)) {
+            return;
+        }
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(jdbc(), table, month.plusMonths(i));
+        }
+    }
+
+    /**
+     * Detaches, archives and drops every monthly partition that ended before
+     * the retention cutoff. Returns the archived months.
+     */
+    public List<YearMonth> archiveExpiredPartitions(String table, int retentionMonths) {
+        List<YearMonth> archived = new ArrayList<>();
+        if (!isPartitioned(table) || retentionMonths <= 0) {
+            return archived;
+        }
+
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        for (Map.Entry<YearMonth, String> partition : listPartitions(table).entrySet()) {
+            YearMonth month = partition.getKey();
+            if (!month.isBefore(cutoff) || isRestoreHeld(partition.getValue())) {
+                continue;
+            }
+            try {
+                archivePartition(table, month);
+                archived.add(month);
+            } catch (Exception e) {
+                logger.error("Failed to archive {} for {}: {}", table, month, e.getMessage());
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Restores an archived month back into its partition. The partition is
+     * exempt from archiving for the configured hold period.
+     */
+    @BatchWorkload
+    public long restoreMonth(String table, YearMonth month) {
+        requireManaged(table);
+        Path archive = archivePath(table, month);
+        if (!Files.exists(archive)) {
+            throw new RuntimeException("No archive found for " + table + " " + month);
+        }
+        String partition = partitionName(table, month);
+        if (listPartitions(table).containsKey(month)) {
+            throw new RuntimeException(table + " " + month + " is already online");
+        }
+
+        Long restored = tx().execute(status -> {
+            JdbcTemplate jdbc = jdbc();
+            createPartition(jdbc, table, month);
+
+            String insert = "INSERT INTO " + table + " SELECT * FROM json_populate_record(NULL::" + table
+                    + ", CAST(? AS json))";
+            long count = 0;
+            List<Object[]> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    batch.add(new Object[] { line });
+                    if (batch.size() == RESTORE_BATCH_SIZE) {
+                        jdbc.batchUpdate(insert, batch);
+                        count += batch.size();
+                        batch.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (!batch.isEmpty()) {
+                jdbc.batchUpdate(insert, batch);
+                count += batch.size();
+            }
+
+            jdbc.execute("COMMENT ON TABLE " + partition + " IS '" + RESTORED_MARKER + LocalDate.now() + "'");
+            return count;
+        });
+
+        logger.info("Restored {} rows into {}", restored, partition);
+        return restored != null ? restored : 0;
+    }
+
+    public List<Map<String, Object>> listArchives() throws IOException {
+        List<Map<String, Object>> archives = new ArrayList<>();
+        for (String table : getManagedTables().keySet()) {
+            Path dir = Paths.get(archiveDir, table);
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".jsonl.gz")).sorted().toList()) {
+                    String name = file.getFileName().toString();
+                    String suffix = name.substring(table.length() + 1, name.length() - ".jsonl.gz".length());
+                    Map<String, Object> info = new LinkedHashMap<>();
+                    info.put("table", table);
+                    info.put("month", YearMonth.parse(suffix, PARTITION_SUFFIX).toString());
+                    info.put("sizeBytes", Files.size(file));
+                    archives.add(info);
+                }
+            }
+        }
+        return archives;
+    }
+
+    public void requireManaged(String table) {
+        if (!getManagedTables().containsKey(table)) {
+            throw new RuntimeException("Unknown table: " + table);
+        }
+    }
+
+    private void archivePartition(String table, YearMonth month) throws IOException {
+        String partition = partitionName(table, month);
+        Path target = archivePath(table, month);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        tx().executeWithoutResult(status -> {
+            JdbcTemplate jdbc = jdbc();
+            jdbc.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+
+            JdbcTemplate streaming = new JdbcTemplate(dataSource);
+            streaming.setFetchSize(1000);
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                streaming.query("SELECT CAST(row_to_json(x) AS text) FROM " + partition + " x ORDER BY x.id", rs -> {
+                    try {
+                        writer.write(rs.getString(1));
+                        writer.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            jdbc.execute("DROP TABLE " + partition);
+        });
+
+        logger.info("Archived {} to {}", partition, target);
+    }
+
+    static void createPartition(JdbcTemplate jdbc, String table, YearMonth month) {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month) + " PARTITION OF " + table
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private Map<YearMonth, String> listPartitions(String table) {
+        Map<YearMonth, String> partitions = new LinkedHashMap<>();
+        String prefix = table + "_p";
+        jdbc().query("SELECT c.relname, obj_description(c.oid, 'pg_class') FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid "
+                + "JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = ? ORDER BY c.relname", rs -> {
+                    String name = rs.getString(1);
+                    if (name.startsWith(prefix) && name.length() == prefix.length() + 6) {
+                        String comment = rs.getString(2);
+                        partitions.put(YearMonth.parse(name.substring(prefix.length()), PARTITION_SUFFIX),
+                                comment != null ? comment : "");
+                    }
+                }, table);
+        return partitions;
+    }
+
+    private boolean isRestoreHeld(String comment) {
+        if (!comment.startsWith(RESTORED_MARKER)) {
+            return false;
+        }
+        try {
+            LocalDate restoredOn = LocalDate.parse(comment.substring(RESTORED_MARKER.length()));
+            return restoredOn.plusDays(restoreHoldDays).isAfter(LocalDate.now());
+        } catch (DateTimeParseException e) {
+            logger.warn("Ignoring malformed restore marker '{}'", comment);
+            return false;
+        }
+    }
+
+    private boolean isPartitioned(String table) {
+        String kind = jdbc().query(
+                "SELECT c.relkind FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                        + "WHERE c.relname = ? AND n.nspname = current_schema()",
+                rs -> rs.next() ? rs.getString(1) : null, table);
+        return "p".equals(kind);
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private Path archivePath(String table, YearMonth month) {
+        return Paths.get(archiveDir, table, table + "_" + month.format(PARTITION_SUFFIX) + ".jsonl.gz");
+    }
+
+    private JdbcTemplate jdbc() {
+        if (jdbcTemplate == null) {
+            jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+        return jdbcTemplate;
+    }
+
+    private TransactionTemplate tx() {
+        if (transactionTemplate == null) {
+            transactionTemplate = new TransactionTemplate(transactionManager);
+        }
+        return transactionTemplate;
+    }
+}
@@ -0,0 +1,114 @@
+package com.gearguard.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Cheap change counters for the data behind the read-heavy list endpoints.
+ *
+ * Each scope is a PostgreSQL sequence, so every node sees the same counter
+ * and bumping it never blocks or rolls back. Mutating services call
+ * {@link #bump} and the counter advances once their transaction commits.
+ * Reads are served from a snapshot refreshed at most every few hundred
+ * milliseconds, which is what lets conditional GETs answer 304 without
+ * running any repository query.
+ */
+@Service
+public class DataVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataVersionService.class);
+
+    public enum Scope {
+        REQUESTS, EQUIPMENT, TEAMS, USERS, DEPARTMENTS;
+
+        String sequence() {
+            return "data_version_" + name().toLowerCase();
+        }
+    }
+
+    // A new sequence reports last_value 1 before its first nextval, the same as after it
+    private static final String READ_ALL = "SELECT " + Arrays.stream(Scope.values())
+            .map(scope -> "(SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM " + scope.sequence() + ")")
+            .collect(Collectors.joining(", "));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // How stale another node's bump may look here
+    @Value("${app.http.data-version-ttl-ms:500}")
+    private long ttlMs;
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(Map<Scope, Long> versions, long readAt) {
+    }
+
+    @PostConstruct
+    void createSequences() {
+        for (Scope scope : Scope.values()) {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + scope.sequence());
+        }
+    }
+
+    public long current(Scope scope) {
+        Snapshot current = snapshot;
+        if (current == null || System.currentTimeMillis() - current.readAt() > ttlMs) {
+            current = reload();
+        }
+        return current.versions().get(scope);
+    }
+
+    /**
+     * Advances the given counters, after commit when called inside a
+     * transaction so readers never pair a new tag with old data.
+     */
+    public void bump(Scope... scopes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance(scopes);
+                }
+            });
+        } else {
+            advance(scopes);
+        }
+    }
+
+    private void advance(Scope... scopes) {
+        try {
+            for (Scope scope : scopes) {
+                jdbcTemplate.queryForObject("SELECT nextval('" + scope.sequence() + "')", Long.class);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to bump data version {}: {}", Arrays.toString(scopes), e.getMessage());
+        }
+        // Our own writes are visible on the next read
+        snapshot = null;
+    }
+
+    private Snapshot reload() {
+        Map<Scope, Long> versions = new EnumMap<>(Scope.class);
+        jdbcTemplate.query(READ_ALL, rs -> {
+            Scope[] scopes = Scope.values();
+            for (int i = 0; i < scopes.length; i++) {
+                versions.put(scopes[i], rs.getLong(i + 1));
+            }
+        });
+        Snapshot fresh = new Snapshot(versions, System.currentTimeMillis());
+        snapshot = fresh;
+        return fresh;
+    }
+}
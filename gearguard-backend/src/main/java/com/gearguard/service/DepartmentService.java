@@ -24,6 +24,9 @@ public class DepartmentService {
     @Autowired
     private EquipmentRepository equipmentRepository;
 
+    @Autowired
+    private DataVersionService dataVersions;
+
     public List<DepartmentDTO> getAllDepartments() {
         return departmentRepository.findAll().stream()
                 .map(this::toDTO)
@@ -52,6 +55,7 @@ public class DepartmentService {
         }
 
         Department saved = departmentRepository.save(department);
+        dataVersions.bump(DataVersionService.Scope.DEPARTMENTS);
         return toDTO(saved);
     }
 
@@ -75,6 +79,7 @@ public class DepartmentService {
         }
 
         Department saved = departmentRepository.save(department);
+        dataVersions.bump(DataVersionService.Scope.DEPARTMENTS);
         return toDTO(saved);
     }
 
@@ -83,6 +88,7 @@ public class DepartmentService {
             throw new RuntimeException("Department not found");
         }
         departmentRepository.deleteById(id);
+        dataVersions.bump(DataVersionService.Scope.DEPARTMENTS);
     }
 
     private DepartmentDTO toDTO(Department department) {
@@ -14,6 +14,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +31,9 @@ public class EmailNotificationService {
     @Autowired
     private MaintenanceRequestRepository requestRepository;
 
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
     @Value("${spring.mail.username}")
     private String fromEmail;
 
@@ -42,7 +46,7 @@ public class EmailNotificationService {
     /**
      * Send email when technician is assigned to a request
      */
-    @Async
+    @Async("emailExecutor")
     public void sendAssignmentNotification(MaintenanceRequest request, User technician) {
         try {
             String subject = "🔧 New Assignment: " + request.getSubject();
@@ -59,6 +63,10 @@ public class EmailNotificationService {
      */
     @Scheduled(cron = "0 0 * * * *") // Every hour
     public void checkAndAlertOverdueRequests() {
+        jobRunner.runExclusive("overdue-alerts", Duration.ofMinutes(30), this::alertOverdueRequests);
+    }
+
+    private void alertOverdueRequests() {
         List<MaintenanceRequest> overdueRequests = requestRepository.findByIsOverdueTrue();
         if (overdueRequests.isEmpty())
             return;
@@ -83,6 +91,10 @@ public class EmailNotificationService {
      */
     @Scheduled(cron = "0 0 8 * * *") // 8 AM daily
     public void sendDailyDigest() {
+        jobRunner.runExclusive("daily-digest", Duration.ofHours(1), this::sendDigests);
+    }
+
+    private void sendDigests() {
         List<MaintenanceRequest> pendingRequests = requestRepository.findAll().stream()
                 .filter(r -> r.getStage().name().equals("NEW") || r.getStage().name().equals("IN_PROGRESS"))
                 .collect(Collectors.toList());
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +75,7 @@ public class EmailService {
         }
     }
 
+    @Async("emailExecutor")
     public void sendNotificationEmail(String toEmail, String title, String message) {
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
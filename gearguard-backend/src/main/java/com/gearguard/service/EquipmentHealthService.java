@@ -0,0 +1,181 @@
+package com.gearguard.service;
+
+import com.gearguard.config.BatchWorkload;
+import com.gearguard.config.WorkloadRoutingDataSource;
+import com.gearguard.repository.EquipmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps {@code equipment.health_score} in line with maintenance history.
+ *
+ * Request changes publish an {@link EquipmentHistoryChangedEvent}; after
+ * commit only the affected equipment is rescored. A nightly job rescores the
+ * whole fleet in id-range partitions spread over the health executor to pick
+ * up time-based drift (ageing preventive maintenance, expiring warranties).
+ * Each partition is one aggregate query plus one batched update of the rows
+ * whose score actually changed.
+ */
+@Service
+public class EquipmentHealthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EquipmentHealthService.class);
+
+    private static final String HISTORY_SELECT = "SELECT e.id, e.health_score, e.warranty_expiry, "
+            + "COALESCE(e.purchase_date, CAST(e.created_at AS date)) AS in_service, "
+            + "COUNT(r.id) FILTER (WHERE r.type = 'CORRECTIVE' AND r.created_at >= :since) AS repairs, "
+            + "COUNT(r.id) FILTER (WHERE r.created_at >= :since "
+            + "AND (r.is_overdue = true OR CAST(r.completed_at AS date) > r.scheduled_date)) AS overdue, "
+            + "MAX(r.completed_at) FILTER (WHERE r.type = 'PREVENTIVE' AND r.stage = 'REPAIRED') AS last_preventive "
+            + "FROM equipment e "
+            + "LEFT JOIN maintenance_requests r ON r.equipment_id = e.id ";
+
+    private static final String HISTORY_BY_IDS = HISTORY_SELECT + "WHERE e.id IN (:ids) GROUP BY e.id";
+
+    private static final String HISTORY_BY_RANGE = HISTORY_SELECT + "WHERE e.id BETWEEN :fromId AND :toId GROUP BY e.id";
+
+    // The score is derived, so it does not bump the optimistic-lock version
+    private static final String UPDATE_SCORE = "UPDATE equipment SET health_score = :score, updated_at = :now "
+            + "WHERE id = :id AND health_score IS DISTINCT FROM :score";
+
+    @Autowired
+    private HealthScoreCalculator calculator;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    @Qualifier("healthExecutor")
+    private ThreadPoolTaskExecutor healthExecutor;
+
+    @Value("${app.health.window-days:365}")
+    private int windowDays;
+
+    @Value("${app.health.partition-size:2000}")
+    private int partitionSize;
+
+    @Async("healthExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHistoryChanged(EquipmentHistoryChangedEvent event) {
+        try {
+            recompute(event.equipmentIds());
+        } catch (Exception e) {
+            // The nightly pass will catch up
+            logger.warn("Health score update failed for {}: {}", event.equipmentIds(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rescores the given equipment and returns how many scores changed.
+     */
+    public int recompute(Collection<Long> equipmentIds) {
+        if (equipmentIds == null || equipmentIds.isEmpty()) {
+            return 0;
+        }
+        return rescore(HISTORY_BY_IDS, new MapSqlParameterSource("ids", equipmentIds));
+    }
+
+    /**
+     * Scheduled job: rescore all equipment (runs nightly)
+     */
+    @Scheduled(cron = "${app.health.cron:0 45 3 * * *}")
+    public void recomputeAllScheduled() {
+        jobRunner.runExclusive("health-recompute", Duration.ofHours(1), () -> {
+            int changed = recomputeAll();
+            logger.info("Nightly health recompute changed {} scores", changed);
+        });
+    }
+
+    /**
+     * Splits the equipment id space into partitions and rescores them in
+     * parallel, each partition on its own batch-pool connection.
+     */
+    @BatchWorkload
+    public int recomputeAll() {
+        List<Object[]> range = equipmentRepository.findIdRange();
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return 0;
+        }
+        long minId = (Long) range.get(0)[0];
+        long maxId = (Long) range.get(0)[1];
+
+        List<CompletableFuture<Integer>> partitions = new ArrayList<>();
+        for (long fromId = minId; fromId <= maxId; fromId += partitionSize) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("fromId", fromId)
+                    .addValue("toId", fromId + partitionSize - 1);
+            partitions.add(CompletableFuture.supplyAsync(() -> WorkloadRoutingDataSource.callIn(
+                    WorkloadRoutingDataSource.Workload.BATCH, () -> rescore(HISTORY_BY_RANGE, params)), healthExecutor));
+        }
+
+        return partitions.stream()
+                .mapToInt(CompletableFuture::join)
+                .sum();
+    }
+
+    private int rescore(String query, MapSqlParameterSource params) {
+        LocalDate today = LocalDate.now();
+        params.addValue("since", Timestamp.valueOf(today.minusDays(windowDays).atStartOfDay()));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<SqlParameterSource> updates = new ArrayList<>();
+        jdbcTemplate.query(query, params, rs -> {
+            Date warranty = rs.getDate("warranty_expiry");
+            Date inService = rs.getDate("in_service");
+            Timestamp lastPreventive = rs.getTimestamp("last_preventive");
+            HealthScoreCalculator.Inputs inputs = new HealthScoreCalculator.Inputs(
+                    rs.getInt("repairs"),
+                    rs.getInt("overdue"),
+                    lastPreventive != null ? lastPreventive.toLocalDateTime() : null,
+                    inService != null ? inService.toLocalDate() : null,
+                    warranty != null ? warranty.toLocalDate() : null);
+
+            int score = calculator.score(inputs, today);
+            int stored = rs.getInt("health_score");
+            if (rs.wasNull() || stored != score) {
+                updates.add(new MapSqlParameterSource()
+                        .addValue("id", rs.getLong("id"))
+                        .addValue("score", score)
+                        .addValue("now", now));
+            }
+        });
+
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SCORE, updates.toArray(new SqlParameterSource[0]));
+        dataVersions.bump(DataVersionService.Scope.EQUIPMENT);
+        return updates.size();
+    }
+}
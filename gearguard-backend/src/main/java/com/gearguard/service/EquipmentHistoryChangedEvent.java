@@ -0,0 +1,14 @@
+package com.gearguard.service;
+
+import java.util.Set;
+
+/**
+ * Published when maintenance history or warranty data of some equipment
+ * changed, so their health scores can be recomputed after commit.
+ */
+public record EquipmentHistoryChangedEvent(Set<Long> equipmentIds) {
+
+    public static EquipmentHistoryChangedEvent of(Long equipmentId) {
+        return new EquipmentHistoryChangedEvent(Set.of(equipmentId));
+    }
+}
@@ -2,6 +2,7 @@ package com.gearguard.service;
 
 import com.gearguard.dto.CreateEquipmentRequest;
 import com.gearguard.dto.EquipmentDTO;
+import com.gearguard.exception.PreconditionFailedException;
 import com.gearguard.model.Equipment;
 import com.gearguard.model.enums.EquipmentStatus;
 import com.gearguard.repository.DepartmentRepository;
@@ -9,7 +10,9 @@ import com.gearguard.repository.EquipmentRepository;
 import com.gearguard.repository.MaintenanceTeamRepository;
 import com.gearguard.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -36,24 +39,34 @@ public class EquipmentService {
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Transactional(readOnly = true)
     public List<EquipmentDTO> getAllEquipment() {
         return equipmentRepository.findAll().stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<EquipmentDTO> getEquipmentByStatus(EquipmentStatus status) {
         return equipmentRepository.findByStatus(status).stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<EquipmentDTO> getEquipmentByCategory(String category) {
         return equipmentRepository.findByCategory(category).stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public EquipmentDTO getEquipmentById(Long id) {
         Equipment equipment = equipmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
@@ -77,7 +90,6 @@ public class EquipmentService {
                 .warrantyExpiry(request.getWarrantyExpiry())
                 .location(request.getLocation())
                 .status(request.getStatus() != null ? request.getStatus() : EquipmentStatus.ACTIVE)
-                .healthScore(request.getHealthScore() != null ? request.getHealthScore() : 100)
                 .notes(request.getNotes())
                 .build();
 
@@ -102,6 +114,8 @@ public class EquipmentService {
         }
 
         Equipment saved = equipmentRepository.save(equipment);
+        dataVersions.bump(DataVersionService.Scope.EQUIPMENT);
+        eventPublisher.publishEvent(EquipmentHistoryChangedEvent.of(saved.getId()));
 
         // Log the creation
         auditLogService.log("CREATE", "Equipment", saved.getId(),
@@ -110,10 +124,19 @@ public class EquipmentService {
         return toDTO(saved);
     }
 
-    public EquipmentDTO updateEquipment(Long id, CreateEquipmentRequest request) {
+    /**
+     * Updates equipment. A non-null expectedVersion must match the current
+     * version, otherwise the update is refused with 412.
+     */
+    public EquipmentDTO updateEquipment(Long id, CreateEquipmentRequest request, Long expectedVersion) {
         Equipment equipment = equipmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Equipment not found"));
 
+        if (expectedVersion != null && !expectedVersion.equals(equipment.getVersion())) {
+            throw new PreconditionFailedException("Equipment was changed by someone else. Reload and try again.",
+                    equipment.getVersion());
+        }
+
         if (!equipment.getSerialNumber().equals(request.getSerialNumber()) &&
                 equipmentRepository.existsBySerialNumber(request.getSerialNumber())) {
             throw new RuntimeException("Equipment with this serial number already exists");
@@ -131,10 +154,6 @@ public class EquipmentService {
             equipment.setStatus(request.getStatus());
         }
 
-        if (request.getHealthScore() != null) {
-            equipment.setHealthScore(request.getHealthScore());
-        }
-
         if (request.getDepartmentId() != null) {
             departmentRepository.findById(request.getDepartmentId())
                     .ifPresent(equipment::setDepartment);
@@ -156,7 +175,10 @@ public class EquipmentService {
             equipment.setMaintenanceTeam(null);
         }
 
-        Equipment saved = equipmentRepository.save(equipment);
+        Equipment saved = equipmentRepository.saveAndFlush(equipment);
+        dataVersions.bump(DataVersionService.Scope.EQUIPMENT);
+        // Purchase and warranty dates feed the health score
+        eventPublisher.publishEvent(EquipmentHistoryChangedEvent.of(saved.getId()));
 
         // Log the update
         auditLogService.log("UPDATE", "Equipment", saved.getId(),
@@ -171,12 +193,30 @@ public class EquipmentService {
 
         String equipmentName = equipment.getName();
         equipmentRepository.deleteById(id);
+        dataVersions.bump(DataVersionService.Scope.EQUIPMENT);
 
         // Log the deletion
         auditLogService.log("DELETE", "Equipment", id,
                 "Deleted equipment: " + equipmentName);
     }
 
+    public EquipmentDTO recordUsage(Long id, Long reading) {
+        Equipment equipment = equipmentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Equipment not found"));
+
+        if (reading == null || reading < 0) {
+            throw new RuntimeException("Usage reading must be a non-negative number");
+        }
+        if (equipment.getUsageReading() != null && reading < equipment.getUsageReading()) {
+            throw new RuntimeException("Usage reading cannot go backwards");
+        }
+
+        equipment.setUsageReading(reading);
+        Equipment saved = equipmentRepository.save(equipment);
+        dataVersions.bump(DataVersionService.Scope.EQUIPMENT);
+        return toDTO(saved);
+    }
+
     public List<String> getCategories() {
         return Arrays.asList("Machinery", "IT Equipment", "Vehicles", "Office Equipment", "HVAC", "Electrical",
                 "Plumbing", "Other");
@@ -224,10 +264,12 @@ public class EquipmentService {
                 .location(equipment.getLocation())
                 .status(equipment.getStatus())
                 .healthScore(equipment.getHealthScore())
+                .usageReading(equipment.getUsageReading())
                 .notes(equipment.getNotes())
                 .underWarranty(equipment.isUnderWarranty())
                 .createdAt(equipment.getCreatedAt())
                 .updatedAt(equipment.getUpdatedAt())
+                .version(equipment.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,271 @@
+package com.gearguard.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearguard.config.ReportingWorkload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Streams maintenance requests and equipment to BI loaders as NDJSON or CSV.
+ *
+ * Rows go from a forward-only cursor (the driver fetches fetch-size rows at
+ * a time) straight to the response; nothing is loaded into the persistence
+ * context or collected into a list. Rows are ordered by (updated_at, id), so
+ * the last row's updated_at is the {@code since} for the next incremental run.
+ *
+ * Incremental runs are at-least-once: updated_at is stamped before the
+ * writing transaction commits, so a run re-reads the overlap window before
+ * {@code since} to pick up rows that committed late. Loaders upsert on id
+ * and keep the row with the higher version. Every response ends with a
+ * footer carrying the row count; one without it was cut short and must be
+ * discarded.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String REQUEST_SELECT = "SELECT r.id, r.subject, r.description, r.type, r.stage, r.priority, "
+            + "r.equipment_id, e.name AS equipment_name, r.assigned_team_id, r.assigned_to, r.requested_by, "
+            + "r.scheduled_date, r.started_at, r.completed_at, r.sla_response_breached_at, r.sla_resolve_breached_at, "
+            + "r.estimated_duration, r.is_overdue, r.schedule_id, r.version, r.created_at, r.updated_at "
+            + "FROM maintenance_requests r "
+            + "JOIN equipment e ON e.id = r.equipment_id ";
+
+    private static final String EQUIPMENT_SELECT = "SELECT e.id, e.name, e.serial_number, e.category, "
+            + "e.department_id, d.name AS department_name, e.assigned_to, e.maintenance_team_id, "
+            + "e.default_technician_id, e.purchase_date, e.warranty_expiry, e.location, e.status, e.health_score, "
+            + "e.usage_reading, e.version, e.created_at, e.updated_at "
+            + "FROM equipment e "
+            + "LEFT JOIN departments d ON d.id = e.department_id ";
+
+    private static final String REQUEST_SINCE = "WHERE r.updated_at > :since ";
+    private static final String EQUIPMENT_SINCE = "WHERE e.updated_at > :since ";
+
+    private static final String REQUEST_ORDER = "ORDER BY r.updated_at, r.id";
+    private static final String EQUIPMENT_ORDER = "ORDER BY e.updated_at, e.id";
+
+    // Rows written before updated_at was set on insert
+    private static final String BACKFILL_REQUESTS = "UPDATE maintenance_requests SET updated_at = created_at "
+            + "WHERE updated_at IS NULL";
+    private static final String BACKFILL_EQUIPMENT = "UPDATE equipment SET updated_at = created_at "
+            + "WHERE updated_at IS NULL";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.export.since-overlap-seconds:300}")
+    private long sinceOverlapSeconds;
+
+    /**
+     * Gives rows created before updated_at was stamped on insert a change
+     * time, so incremental exports see every row. Leaves version alone: the
+     * row content does not change. One node runs it, on the batch pool; a
+     * failure is logged and retried on the next start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillUpdatedAt() {
+        try {
+            jobRunner.runExclusive("updated-at-backfill", Duration.ofMinutes(30), () -> {
+                int requests = jdbcTemplate.getJdbcTemplate().update(BACKFILL_REQUESTS);
+                int equipment = jdbcTemplate.getJdbcTemplate().update(BACKFILL_EQUIPMENT);
+                if (requests > 0 || equipment > 0) {
+                    logger.info("Backfilled updated_at on {} requests and {} equipment", requests, equipment);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Backfill of updated_at failed: {}", e.getMessage());
+        }
+    }
+
+    // Read-only transaction: the driver only uses a cursor with auto-commit off
+    @ReportingWorkload
+    @Transactional(readOnly = true)
+    public void exportRequests(LocalDateTime since, Format format, OutputStream out) {
+        stream(REQUEST_SELECT + (since != null ? REQUEST_SINCE : "") + REQUEST_ORDER, since, format, out);
+    }
+
+    @ReportingWorkload
+    @Transactional(readOnly = true)
+    public void exportEquipment(LocalDateTime since, Format format, OutputStream out) {
+        stream(EQUIPMENT_SELECT + (since != null ? EQUIPMENT_SINCE : "") + EQUIPMENT_ORDER, since, format, out);
+    }
+
+    private void stream(String sql, LocalDateTime since, Format format, OutputStream out) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        MapSqlParameterSource params = new MapSqlParameterSource("since",
+                since != null ? since.minusSeconds(sinceOverlapSeconds) : null);
+        new NamedParameterJdbcTemplate(streaming).query(sql, params, (ResultSetExtractor<Void>) rs -> {
+            try {
+                RowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+                writer.start(rs.getMetaData());
+                long rows = 0;
+                while (rs.next()) {
+                    writer.write(rs);
+                    rows++;
+                }
+                writer.finish(rows);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private interface RowWriter {
+        void start(ResultSetMetaData meta) throws SQLException, IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        // Writes the footer that marks the export complete, then flushes
+        void finish(long rows) throws IOException;
+    }
+
+    private class NdjsonWriter implements RowWriter {
+        private final JsonGenerator json;
+        private String[] labels;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start(ResultSetMetaData meta) throws SQLException {
+            labels = new String[meta.getColumnCount()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = meta.getColumnLabel(i + 1);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            for (int i = 1; i <= labels.length; i++) {
+                json.writeFieldName(labels[i - 1]);
+                Object value = rs.getObject(i);
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    json.writeObject(value);
+                } else {
+                    json.writeString(text(value));
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish(long rows) throws IOException {
+            json.writeStartObject();
+            json.writeObjectFieldStart("_footer");
+            json.writeBooleanField("complete", true);
+            json.writeNumberField("rows", rows);
+            json.writeEndObject();
+            json.writeEndObject();
+            json.writeRaw('\n');
+            json.close();
+        }
+    }
+
+    private static class CsvWriter implements RowWriter {
+        private final Writer writer;
+        private int columns;
+
+        CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void start(ResultSetMetaData meta) throws SQLException, IOException {
+            columns = meta.getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                writeCell(i, meta.getColumnLabel(i));
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= columns; i++) {
+                Object value = rs.getObject(i);
+                writeCell(i, value != null ? text(value) : "");
+            }
+        }
+
+        private void writeCell(int column, String value) throws IOException {
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+            writer.write(column < columns ? "," : "\r\n");
+        }
+
+        // A comment line, which CSV loaders can be told to skip
+        @Override
+        public void finish(long rows) throws IOException {
+            writer.write("# complete," + rows + "\r\n");
+            writer.flush();
+        }
+    }
+
+    // ISO-8601 for timestamps and dates, as the JSON API renders them
+    private static String text(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value.toString();
+    }
+}
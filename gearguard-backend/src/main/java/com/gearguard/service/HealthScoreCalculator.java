@@ -0,0 +1,74 @@
+package com.gearguard.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Derives an equipment health score (0-100) from its maintenance history.
+ *
+ * Starting from 100 the score loses points for recent corrective repairs,
+ * for requests that ran overdue, for time since the last completed preventive
+ * maintenance beyond a grace period, and for an expired warranty. Each
+ * penalty is capped so no single factor can zero the score on its own.
+ */
+@Component
+public class HealthScoreCalculator {
+
+    @Value("${app.health.repair-penalty:8}")
+    private int repairPenalty;
+
+    @Value("${app.health.repair-penalty-max:40}")
+    private int repairPenaltyMax;
+
+    @Value("${app.health.overdue-penalty:5}")
+    private int overduePenalty;
+
+    @Value("${app.health.overdue-penalty-max:25}")
+    private int overduePenaltyMax;
+
+    @Value("${app.health.preventive-grace-days:90}")
+    private int preventiveGraceDays;
+
+    // One point per this many days past the grace period
+    @Value("${app.health.preventive-days-per-point:10}")
+    private int preventiveDaysPerPoint;
+
+    @Value("${app.health.preventive-penalty-max:20}")
+    private int preventivePenaltyMax;
+
+    @Value("${app.health.warranty-expired-penalty:10}")
+    private int warrantyExpiredPenalty;
+
+    public int score(Inputs inputs, LocalDate today) {
+        int score = 100;
+        score -= Math.min(repairPenaltyMax, inputs.recentRepairs() * repairPenalty);
+        score -= Math.min(overduePenaltyMax, inputs.recentOverdue() * overduePenalty);
+
+        // Never serviced equipment is measured from when it entered service
+        LocalDate lastService = inputs.lastPreventive() != null
+                ? inputs.lastPreventive().toLocalDate()
+                : inputs.inServiceSince();
+        if (lastService != null && preventiveDaysPerPoint > 0) {
+            long overdueDays = ChronoUnit.DAYS.between(lastService, today) - preventiveGraceDays;
+            if (overdueDays > 0) {
+                score -= (int) Math.min(preventivePenaltyMax, overdueDays / preventiveDaysPerPoint);
+            }
+        }
+
+        if (inputs.warrantyExpiry() != null && inputs.warrantyExpiry().isBefore(today)) {
+            score -= warrantyExpiredPenalty;
+        }
+        return Math.max(0, Math.min(100, score));
+    }
+
+    /**
+     * Aggregated history of one piece of equipment over the scoring window.
+     */
+    public record Inputs(int recentRepairs, int recentOverdue, LocalDateTime lastPreventive,
+            LocalDate inServiceSince, LocalDate warrantyExpiry) {
+    }
+}
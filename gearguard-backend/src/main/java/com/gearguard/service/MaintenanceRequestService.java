@@ -2,6 +2,7 @@ package com.gearguard.service;
 
 import com.gearguard.dto.CreateRequestDTO;
 import com.gearguard.dto.MaintenanceRequestDTO;
+import com.gearguard.exception.ConflictException;
 import com.gearguard.model.Equipment;
 import com.gearguard.model.MaintenanceRequest;
 import com.gearguard.model.MaintenanceTeam;
@@ -12,11 +13,18 @@ import com.gearguard.repository.MaintenanceRequestRepository;
 import com.gearguard.repository.MaintenanceTeamRepository;
 import com.gearguard.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,15 +48,34 @@ public class MaintenanceRequestService {
         @Autowired
         private EmailNotificationService emailNotificationService;
 
+        @Autowired
+        private AssignmentService assignmentService;
+
+        @Autowired
+        private TechnicianWorkloadIndex workloadIndex;
+
+        @Autowired
+        private RequestRevisionHistory revisionHistory;
+
+        @Autowired
+        private ApplicationEventPublisher eventPublisher;
+
+        @Autowired
+        private DataVersionService dataVersions;
+
+        @Transactional(readOnly = true)
         public List<MaintenanceRequestDTO> getAllRequests() {
                 return requestRepository.findAllForKanban().stream()
+                                .peek(revisionHistory::record)
                                 .map(this::toDTO)
                                 .collect(Collectors.toList());
         }
 
+        @Transactional(readOnly = true)
         public MaintenanceRequestDTO getRequestById(Long id) {
                 MaintenanceRequest request = requestRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Request not found"));
+                revisionHistory.record(request);
                 return toDTO(request);
         }
 
@@ -79,13 +106,35 @@ public class MaintenanceRequestService {
                         request.setAssignedTeam(team);
                 }
 
+                boolean autoAssigned = false;
                 if (dto.getAssignedToId() != null) {
                         User assignee = userRepository.findById(dto.getAssignedToId())
                                         .orElseThrow(() -> new RuntimeException("Assignee not found"));
                         request.setAssignedTo(assignee);
+                        workloadIndex.adjust(assignee.getId(), 1);
+                } else if (assignmentService.isAutoAssignEnabled()) {
+                        // Route to a technician from the equipment's team based on current workload
+                        User assignee = assignmentService.assignTechnician(equipment, request.getPriority())
+                                        .orElse(null);
+                        if (assignee != null) {
+                                request.setAssignedTo(assignee);
+                                autoAssigned = true;
+                        }
                 }
 
-                requestRepository.save(request);
+                if (request.getAssignedTeam() == null && equipment.getMaintenanceTeam() != null) {
+                        request.setAssignedTeam(equipment.getMaintenanceTeam());
+                }
+
+                requestRepository.saveAndFlush(request);
+                revisionHistory.recordWrite(request);
+                dataVersions.bump(DataVersionService.Scope.REQUESTS);
+                eventPublisher.publishEvent(EquipmentHistoryChangedEvent.of(equipment.getId()));
+                eventPublisher.publishEvent(RequestDeadlinesChangedEvent.of(request.getId()));
+
+                if (autoAssigned) {
+                        emailNotificationService.sendAssignmentNotification(request, request.getAssignedTo());
+                }
 
                 // Log the creation
                 auditLogService.log("CREATE", "Request", request.getId(),
@@ -94,52 +143,115 @@ public class MaintenanceRequestService {
                 return toDTO(request);
         }
 
+        /**
+         * Updates a request. When expectedVersion is stale the client's edits are
+         * merged field by field against the version it loaded; only fields changed
+         * on both sides to different values are reported as conflicts.
+         */
         @Transactional
-        public MaintenanceRequestDTO updateRequest(Long id, CreateRequestDTO dto) {
+        public MaintenanceRequestDTO updateRequest(Long id, CreateRequestDTO dto, Long expectedVersion) {
                 MaintenanceRequest request = requestRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Request not found"));
 
-                request.setSubject(dto.getSubject());
-                request.setDescription(dto.getDescription());
-                request.setType(dto.getType());
-                request.setPriority(dto.getPriority());
-                request.setScheduledDate(dto.getScheduledDate());
-                request.setEstimatedDuration(dto.getEstimatedDuration());
-                request.setNotes(dto.getNotes());
+                Map<String, Object> current = RequestRevisionHistory.snapshot(request);
+                Map<String, Object> incoming = new LinkedHashMap<>();
+                incoming.put(RequestRevisionHistory.SUBJECT, dto.getSubject());
+                incoming.put(RequestRevisionHistory.DESCRIPTION, dto.getDescription());
+                incoming.put(RequestRevisionHistory.TYPE, dto.getType());
+                incoming.put(RequestRevisionHistory.PRIORITY, dto.getPriority());
+                incoming.put(RequestRevisionHistory.SCHEDULED_DATE, dto.getScheduledDate());
+                incoming.put(RequestRevisionHistory.ESTIMATED_DURATION, dto.getEstimatedDuration());
+                incoming.put(RequestRevisionHistory.NOTES, dto.getNotes());
+                // A missing equipment id has always meant "keep the current one"
+                incoming.put(RequestRevisionHistory.EQUIPMENT_ID, dto.getEquipmentId() != null
+                                ? dto.getEquipmentId()
+                                : current.get(RequestRevisionHistory.EQUIPMENT_ID));
+                incoming.put(RequestRevisionHistory.ASSIGNED_TEAM_ID, dto.getAssignedTeamId());
+                incoming.put(RequestRevisionHistory.ASSIGNED_TO_ID, dto.getAssignedToId());
+
+                Set<String> fields = incoming.keySet();
+                if (expectedVersion != null && !expectedVersion.equals(request.getVersion())) {
+                        fields = mergeFields(request, expectedVersion, current, incoming);
+                }
+
+                Long previousAssigneeId = request.getAssignedTo() != null ? request.getAssignedTo().getId() : null;
+                Long previousEquipmentId = (Long) current.get(RequestRevisionHistory.EQUIPMENT_ID);
 
-                if (dto.getEquipmentId() != null) {
+                if (fields.contains(RequestRevisionHistory.SUBJECT)) {
+                        request.setSubject(dto.getSubject());
+                }
+                if (fields.contains(RequestRevisionHistory.DESCRIPTION)) {
+                        request.setDescription(dto.getDescription());
+                }
+                if (fields.contains(RequestRevisionHistory.TYPE)) {
+                        request.setType(dto.getType());
+                }
+                if (fields.contains(RequestRevisionHistory.PRIORITY)) {
+                        request.setPriority(dto.getPriority());
+                }
+                if (fields.contains(RequestRevisionHistory.SCHEDULED_DATE)) {
+                        request.setScheduledDate(dto.getScheduledDate());
+                }
+                if (fields.contains(RequestRevisionHistory.ESTIMATED_DURATION)) {
+                        request.setEstimatedDuration(dto.getEstimatedDuration());
+                }
+                if (fields.contains(RequestRevisionHistory.NOTES)) {
+                        request.setNotes(dto.getNotes());
+                }
+
+                if (fields.contains(RequestRevisionHistory.EQUIPMENT_ID) && dto.getEquipmentId() != null) {
                         Equipment equipment = equipmentRepository.findById(dto.getEquipmentId())
                                         .orElseThrow(() -> new RuntimeException("Equipment not found"));
                         request.setEquipment(equipment);
                 }
 
-                if (dto.getAssignedTeamId() != null) {
-                        MaintenanceTeam team = teamRepository.findById(dto.getAssignedTeamId())
-                                        .orElseThrow(() -> new RuntimeException("Team not found"));
-                        request.setAssignedTeam(team);
-                } else {
-                        request.setAssignedTeam(null);
+                if (fields.contains(RequestRevisionHistory.ASSIGNED_TEAM_ID)) {
+                        if (dto.getAssignedTeamId() != null) {
+                                MaintenanceTeam team = teamRepository.findById(dto.getAssignedTeamId())
+                                                .orElseThrow(() -> new RuntimeException("Team not found"));
+                                request.setAssignedTeam(team);
+                        } else {
+                                request.setAssignedTeam(null);
+                        }
                 }
 
-                if (dto.getAssignedToId() != null) {
-                        User assignee = userRepository.findById(dto.getAssignedToId())
-                                        .orElseThrow(() -> new RuntimeException("Assignee not found"));
+                if (fields.contains(RequestRevisionHistory.ASSIGNED_TO_ID)) {
+                        if (dto.getAssignedToId() != null) {
+                                User assignee = userRepository.findById(dto.getAssignedToId())
+                                                .orElseThrow(() -> new RuntimeException("Assignee not found"));
 
-                        // Check if this is a new assignment (different from current)
-                        boolean isNewAssignment = request.getAssignedTo() == null ||
-                                        !request.getAssignedTo().getId().equals(dto.getAssignedToId());
+                                // Check if this is a new assignment (different from current)
+                                boolean isNewAssignment = request.getAssignedTo() == null ||
+                                                !request.getAssignedTo().getId().equals(dto.getAssignedToId());
 
-                        request.setAssignedTo(assignee);
+                                request.setAssignedTo(assignee);
 
-                        // Send email notification if newly assigned
-                        if (isNewAssignment) {
-                                emailNotificationService.sendAssignmentNotification(request, assignee);
+                                // Send email notification if newly assigned
+                                if (isNewAssignment) {
+                                        emailNotificationService.sendAssignmentNotification(request, assignee);
+                                }
+                        } else {
+                                request.setAssignedTo(null);
                         }
-                } else {
-                        request.setAssignedTo(null);
                 }
 
-                requestRepository.save(request);
+                boolean open = TechnicianWorkloadIndex.isOpen(request.getStage());
+                workloadIndex.transfer(previousAssigneeId, open,
+                                request.getAssignedTo() != null ? request.getAssignedTo().getId() : null, open);
+
+                // Flush so a concurrent commit since our read fails here, not at commit
+                requestRepository.saveAndFlush(request);
+                revisionHistory.recordWrite(request);
+                dataVersions.bump(DataVersionService.Scope.REQUESTS);
+
+                // Type, schedule and equipment all feed the health score of old and new equipment
+                Set<Long> affectedEquipment = new HashSet<>();
+                affectedEquipment.add(previousEquipmentId);
+                affectedEquipment.add(request.getEquipment().getId());
+                affectedEquipment.remove(null);
+                eventPublisher.publishEvent(new EquipmentHistoryChangedEvent(affectedEquipment));
+                // Priority and scheduled date decide the SLA deadlines
+                eventPublisher.publishEvent(RequestDeadlinesChangedEvent.of(request.getId()));
 
                 // Log the update
                 auditLogService.log("UPDATE", "Request", request.getId(),
@@ -148,13 +260,28 @@ public class MaintenanceRequestService {
                 return toDTO(request);
         }
 
+        /**
+         * Moves a request to a new stage. A stale expectedVersion is only a conflict
+         * when someone else has moved the card to a different stage in the meantime.
+         */
         @Transactional
-        public MaintenanceRequestDTO updateStage(Long id, RequestStage newStage) {
+        public MaintenanceRequestDTO updateStage(Long id, RequestStage newStage, Long expectedVersion) {
                 MaintenanceRequest request = requestRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Request not found"));
 
                 RequestStage oldStage = request.getStage();
+                if (expectedVersion != null && !expectedVersion.equals(request.getVersion()) && oldStage != newStage) {
+                        Map<String, Object> base = revisionHistory.find(id, expectedVersion);
+                        if (base == null || base.get(RequestRevisionHistory.STAGE) != oldStage) {
+                                throw new ConflictException("Request was moved to " + oldStage + " by someone else",
+                                                request.getVersion(), List.of(RequestRevisionHistory.STAGE), toDTO(request));
+                        }
+                }
+
                 request.setStage(newStage);
+                if (newStage == RequestStage.IN_PROGRESS && request.getStartedAt() == null) {
+                        request.setStartedAt(LocalDateTime.now());
+                }
 
                 // Mark completed if repaired or scrapped
                 if (newStage == RequestStage.REPAIRED || newStage == RequestStage.SCRAP) {
@@ -170,6 +297,7 @@ public class MaintenanceRequestService {
                                                 + request.getId() + ": "
                                                 + request.getSubject());
                                 equipmentRepository.save(equipment);
+                                dataVersions.bump(DataVersionService.Scope.EQUIPMENT);
 
                                 // Log the scrap action
                                 auditLogService.log("UPDATE", "Equipment", equipment.getId(),
@@ -181,7 +309,17 @@ public class MaintenanceRequestService {
                         request.updateOverdueStatus();
                 }
 
-                requestRepository.save(request);
+                Long assigneeId = request.getAssignedTo() != null ? request.getAssignedTo().getId() : null;
+                workloadIndex.transfer(assigneeId, TechnicianWorkloadIndex.isOpen(oldStage),
+                                assigneeId, TechnicianWorkloadIndex.isOpen(newStage));
+
+                requestRepository.saveAndFlush(request);
+                revisionHistory.recordWrite(request);
+                dataVersions.bump(DataVersionService.Scope.REQUESTS);
+                if (request.getEquipment() != null) {
+                        eventPublisher.publishEvent(EquipmentHistoryChangedEvent.of(request.getEquipment().getId()));
+                }
+                eventPublisher.publishEvent(RequestDeadlinesChangedEvent.of(id));
 
                 // Log the stage change
                 auditLogService.log("UPDATE", "Request", request.getId(),
@@ -196,30 +334,77 @@ public class MaintenanceRequestService {
                                 .orElseThrow(() -> new RuntimeException("Request not found"));
 
                 String requestSubject = request.getSubject();
+                Long equipmentId = request.getEquipment() != null ? request.getEquipment().getId() : null;
+                if (request.getAssignedTo() != null && TechnicianWorkloadIndex.isOpen(request.getStage())) {
+                        workloadIndex.adjust(request.getAssignedTo().getId(), -1);
+                }
                 requestRepository.delete(request);
+                revisionHistory.forget(id);
+                dataVersions.bump(DataVersionService.Scope.REQUESTS);
+                if (equipmentId != null) {
+                        eventPublisher.publishEvent(EquipmentHistoryChangedEvent.of(equipmentId));
+                }
+                eventPublisher.publishEvent(RequestDeadlinesChangedEvent.of(id));
 
                 // Log the deletion
                 auditLogService.log("DELETE", "Request", id, "Deleted request: " + requestSubject);
         }
 
+        @Transactional(readOnly = true)
         public List<MaintenanceRequestDTO> getRequestsByStage(RequestStage stage) {
                 return requestRepository.findByStage(stage).stream()
                                 .map(this::toDTO)
                                 .collect(Collectors.toList());
         }
 
+        @Transactional(readOnly = true)
         public List<MaintenanceRequestDTO> getRequestsByTeam(Long teamId) {
                 return requestRepository.findByAssignedTeamId(teamId).stream()
                                 .map(this::toDTO)
                                 .collect(Collectors.toList());
         }
 
+        @Transactional(readOnly = true)
         public List<MaintenanceRequestDTO> getOverdueRequests() {
                 return requestRepository.findByIsOverdueTrue().stream()
                                 .map(this::toDTO)
                                 .collect(Collectors.toList());
         }
 
+        /**
+         * Returns the fields the client changed relative to the version it loaded,
+         * or throws a ConflictException if any of them were also changed since.
+         */
+        private Set<String> mergeFields(MaintenanceRequest request, Long expectedVersion,
+                        Map<String, Object> current, Map<String, Object> incoming) {
+                Map<String, Object> base = revisionHistory.find(request.getId(), expectedVersion);
+                if (base == null) {
+                        throw new ConflictException("Request was changed by someone else. Reload and try again.",
+                                        request.getVersion(), List.of(), toDTO(request));
+                }
+
+                Set<String> changed = new HashSet<>();
+                List<String> conflicts = new ArrayList<>();
+                incoming.forEach((field, mine) -> {
+                        Object original = base.get(field);
+                        if (Objects.equals(mine, original)) {
+                                return;
+                        }
+                        Object theirs = current.get(field);
+                        if (Objects.equals(theirs, original) || Objects.equals(theirs, mine)) {
+                                changed.add(field);
+                        } else {
+                                conflicts.add(field);
+                        }
+                });
+
+                if (!conflicts.isEmpty()) {
+                        throw new ConflictException("Request was changed by someone else: " + String.join(", ", conflicts),
+                                        request.getVersion(), conflicts, toDTO(request));
+                }
+                return changed;
+        }
+
         private MaintenanceRequestDTO toDTO(MaintenanceRequest request) {
                 return MaintenanceRequestDTO.builder()
                                 .id(request.getId())
@@ -249,12 +434,16 @@ public class MaintenanceRequestService {
                                                 ? request.getRequestedBy().getFullName()
                                                 : null)
                                 .scheduledDate(request.getScheduledDate())
+                                .startedAt(request.getStartedAt())
                                 .completedAt(request.getCompletedAt())
                                 .estimatedDuration(request.getEstimatedDuration())
                                 .isOverdue(request.getIsOverdue())
+                                .slaBreached(request.getSlaResponseBreachedAt() != null
+                                                || request.getSlaResolveBreachedAt() != null)
                                 .notes(request.getNotes())
                                 .createdAt(request.getCreatedAt())
                                 .updatedAt(request.getUpdatedAt())
+                                .version(request.getVersion())
                                 .build();
         }
 }
@@ -0,0 +1,186 @@
+package com.gearguard.service;
+
+import com.gearguard.model.OtpToken;
+import com.gearguard.repository.OtpTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password-reset codes, one live code per email, held in memory until they
+ * expire. Verification is a map lookup and a constant-time compare; a code
+ * is discarded after too many wrong guesses.
+ *
+ * With write-through enabled every code is also stored in otp_tokens so any
+ * node can verify it, and consuming a code is a conditional UPDATE so it can
+ * be used only once cluster-wide. Failed-attempt counts stay per node.
+ */
+@Component
+public class OtpStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtpStore.class);
+
+    private static final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private OtpTokenRepository otpTokenRepository;
+
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
+    @Value("${app.otp.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${app.otp.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.otp.write-through:true}")
+    private boolean writeThrough;
+
+    private final ConcurrentHashMap<String, Entry> codes = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        final String otp;
+        final long expiresAt;
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicBoolean used = new AtomicBoolean();
+
+        Entry(String otp, long expiresAt) {
+            this.otp = otp;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+
+    /**
+     * Creates a new code for the email, replacing any previous one.
+     */
+    public String issue(String email) {
+        String key = normalize(email);
+        String otp = String.valueOf(100000 + secureRandom.nextInt(900000));
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(ttlMinutes);
+
+        if (writeThrough) {
+            otpTokenRepository.deleteByEmail(email);
+            otpTokenRepository.save(OtpToken.builder()
+                    .email(email)
+                    .otp(otp)
+                    .expiresAt(expiresAt)
+                    .used(false)
+                    .build());
+        }
+        codes.put(key, new Entry(otp, toMillis(expiresAt)));
+        return otp;
+    }
+
+    /**
+     * Checks a code without using it up. Throws with a user-facing message
+     * when the code is wrong, expired or locked out.
+     */
+    public void verify(String email, String otp) {
+        check(email, otp);
+    }
+
+    /**
+     * Checks and uses up a code; a second call with the same code fails.
+     */
+    public void consume(String email, String otp) {
+        Entry entry = check(email, otp);
+        if (writeThrough && otpTokenRepository.markUsed(email, otp, LocalDateTime.now()) == 0) {
+            codes.remove(normalize(email), entry);
+            throw new RuntimeException("Invalid OTP");
+        }
+        if (!entry.used.compareAndSet(false, true)) {
+            throw new RuntimeException("Invalid OTP");
+        }
+        codes.remove(normalize(email), entry);
+    }
+
+    private Entry check(String email, String otp) {
+        String key = normalize(email);
+        Entry entry = codes.get(key);
+        if (writeThrough && (entry == null || !matches(entry, otp))) {
+            // Issued or replaced on another node
+            entry = reload(email, key);
+        }
+
+        if (entry == null || entry.used.get()) {
+            throw new RuntimeException("Invalid OTP");
+        }
+        if (entry.isExpired()) {
+            codes.remove(key, entry);
+            throw new RuntimeException("OTP has expired. Please request a new one.");
+        }
+        if (!matches(entry, otp)) {
+            if (entry.failures.incrementAndGet() >= maxAttempts) {
+                codes.remove(key, entry);
+                if (writeThrough) {
+                    otpTokenRepository.deleteByEmail(email);
+                }
+                throw new RuntimeException("Too many incorrect attempts. Please request a new OTP.");
+            }
+            throw new RuntimeException("Invalid OTP");
+        }
+        return entry;
+    }
+
+    private Entry reload(String email, String key) {
+        return otpTokenRepository.findFirstByEmailAndUsedFalseOrderByCreatedAtDesc(email)
+                .map(token -> {
+                    Entry fresh = new Entry(token.getOtp(), toMillis(token.getExpiresAt()));
+                    Entry existing = codes.get(key);
+                    // Keep the local failure count if we already hold this code
+                    if (existing != null && existing.otp.equals(fresh.otp)) {
+                        return existing;
+                    }
+                    codes.put(key, fresh);
+                    return fresh;
+                })
+                .orElse(codes.get(key));
+    }
+
+    private static boolean matches(Entry entry, String otp) {
+        return otp != null && MessageDigest.isEqual(
+                entry.otp.getBytes(StandardCharsets.UTF_8), otp.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Scheduled job: drop expired codes from memory on this node and purge
+     * expired or used rows from otp_tokens cluster-wide (runs every 15 minutes)
+     */
+    @Scheduled(fixedDelayString = "${app.otp.sweep-interval-ms:900000}")
+    public void sweep() {
+        codes.values().removeIf(entry -> entry.isExpired() || entry.used.get());
+
+        jobRunner.runExclusive("otp-sweep", Duration.ofMinutes(5), () -> {
+            int deleted = otpTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+            if (deleted > 0) {
+                logger.info("Purged {} expired OTP tokens", deleted);
+            }
+        });
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,157 @@
+package com.gearguard.service;
+
+import com.gearguard.config.WorkloadRoutingDataSource;
+import com.gearguard.config.WorkloadRoutingDataSource.Workload;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the plain tables Hibernate created for audit_logs and
+ * notifications into monthly range-partitioned tables.
+ *
+ * Uses plain JDBC so it can run before the EntityManagerFactory starts (see
+ * DataSourceConfig): on every start after the first, the tables are converted
+ * before Hibernate's schema update looks at them. On a fresh database the
+ * tables do not exist yet, and {@link DataRetentionService} converts them
+ * once the application is ready.
+ *
+ * The conversion locks the table ACCESS EXCLUSIVE until the copy commits, so
+ * writes to it (every audited change, every notification) block for the
+ * duration. Rows are copied in id batches with progress logged; plan the
+ * first start after upgrading a large database as a maintenance window.
+ */
+@Component
+public class PartitionConverter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionConverter.class);
+
+    private static final List<String> MANAGED_TABLES = List.of("audit_logs", "notifications");
+
+    private static final int COPY_BATCH_SIZE = 50_000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.retention.months-ahead:2}")
+    private int monthsAhead;
+
+    @PostConstruct
+    public void convertExisting() {
+        if (!enabled) {
+            return;
+        }
+        for (String table : MANAGED_TABLES) {
+            try {
+                ensurePartitioned(table);
+            } catch (Exception e) {
+                logger.error("Failed to partition {} before schema update: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Converts the table if it exists and is not partitioned yet; no-op
+     * otherwise. Safe to call from several nodes at once.
+     */
+    public void ensurePartitioned(String table) {
+        WorkloadRoutingDataSource.callIn(Workload.BATCH, () -> {
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                // Serializes nodes starting together; the loser sees the table already partitioned
+                jdbc.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class,
+                        "partition-setup:" + table);
+                if (!"r".equals(relkind(jdbc, table))) {
+                    return;
+                }
+                convert(jdbc, table);
+            });
+            return null;
+        });
+    }
+
+    private void convert(JdbcTemplate jdbc, String table) {
+        logger.info("Converting {} to a monthly partitioned table", table);
+        String legacy = table + "_unpartitioned";
+        String sequence = table + "_part_id_seq";
+
+        jdbc.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+
+        // Captured before the rename so the definitions name the new table. Unique
+        // indexes are left out: on a partitioned table they must include created_at,
+        // and the only one Hibernate creates is the id primary key replaced below.
+        List<String> indexes = jdbc.queryForList("SELECT pg_get_indexdef(i.indexrelid) FROM pg_index i "
+                + "WHERE i.indrelid = CAST(? AS regclass) AND NOT i.indisunique", String.class, table);
+        Map<String, String> foreignKeys = new LinkedHashMap<>();
+        jdbc.query("SELECT conname, pg_get_constraintdef(oid) FROM pg_constraint "
+                + "WHERE conrelid = CAST(? AS regclass) AND contype = 'f'",
+                rs -> {
+                    foreignKeys.put(rs.getString(1), rs.getString(2));
+                }, table);
+
+        jdbc.execute("UPDATE " + table + " SET created_at = now() WHERE created_at IS NULL");
+        jdbc.execute("ALTER TABLE " + table + " RENAME TO " + legacy);
+        jdbc.execute("CREATE TABLE " + table + " (LIKE " + legacy + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) "
+                + "PARTITION BY RANGE (created_at)");
+
+        // Ids keep counting from the legacy table
+        jdbc.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence);
+        jdbc.queryForObject("SELECT setval('" + sequence + "', COALESCE((SELECT MAX(id) FROM " + legacy
+                + "), 0) + 1, false)", Long.class);
+        jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+        jdbc.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + table + ".id");
+        jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN created_at SET NOT NULL");
+        jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN created_at SET DEFAULT now()");
+        jdbc.execute("ALTER TABLE " + table + " ADD PRIMARY KEY (id, created_at)");
+        jdbc.execute("CREATE TABLE " + table + "_default PARTITION OF " + table + " DEFAULT");
+
+        LocalDate oldest = jdbc.queryForObject("SELECT CAST(MIN(created_at) AS date) FROM " + legacy,
+                LocalDate.class);
+        YearMonth month = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            DataRetentionService.createPartition(jdbc, table, month);
+        }
+
+        Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM " + legacy, Long.class);
+        String copy = "INSERT INTO " + table + " SELECT * FROM " + legacy + " WHERE id > ? AND id <= ?";
+        long copied = 0;
+        for (long from = 0; maxId != null && from < maxId; from += COPY_BATCH_SIZE) {
+            copied += jdbc.update(copy, from, from + COPY_BATCH_SIZE);
+            logger.info("Copied {} rows into partitioned {} (id <= {} of {})", copied, table,
+                    Math.min(from + COPY_BATCH_SIZE, maxId), maxId);
+        }
+        jdbc.execute("DROP TABLE " + legacy);
+
+        // Built after the copy, and only now that the legacy names are free
+        for (String index : indexes) {
+            jdbc.execute(index);
+        }
+        foreignKeys.forEach((name, definition) ->
+                jdbc.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " " + definition));
+        logger.info("Partitioned {}: {} rows, {} indexes, {} foreign keys", table, copied, indexes.size(),
+                foreignKeys.size());
+    }
+
+    private String relkind(JdbcTemplate jdbc, String table) {
+        return jdbc.query("SELECT c.relkind FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                + "WHERE c.relname = ? AND n.nspname = current_schema()",
+                rs -> rs.next() ? rs.getString(1) : null, table);
+    }
+}
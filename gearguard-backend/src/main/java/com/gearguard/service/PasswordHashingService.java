@@ -0,0 +1,91 @@
+package com.gearguard.service;
+
+import com.gearguard.exception.ServiceBusyException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt on the bounded password pool instead of the Tomcat worker.
+ *
+ * A login storm then costs at most pool-size cores of hashing; anything
+ * beyond the pool's short queue is rejected immediately with 503 rather than
+ * piling up behind it. Queue time and hash time are published by the pool as
+ * executor.task.wait / executor.task.duration{name=password}.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordExecutor")
+    private ThreadPoolTaskExecutor passwordExecutor;
+
+    @Value("${app.auth.hash-timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${app.auth.busy-retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    // Compared against when the user does not exist, so unknown emails take
+    // as long as wrong passwords
+    private String dummyHash;
+
+    @PostConstruct
+    void init() {
+        dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        String hash = encodedPassword != null ? encodedPassword : dummyHash;
+        boolean matches = run(() -> passwordEncoder.matches(rawPassword, hash));
+        return encodedPassword != null && matches;
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * True when the stored hash uses a lower cost than the configured one and
+     * should be replaced after a successful login.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = passwordExecutor.submit(task);
+        } catch (TaskRejectedException e) {
+            throw new ServiceBusyException("Too many sign-ins in progress. Please retry shortly.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("Sign-in is taking too long. Please retry shortly.", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while checking password");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.gearguard.service;
+
+import com.gearguard.config.BatchWorkload;
+import com.gearguard.dto.CreateScheduleRequest;
+import com.gearguard.dto.MaintenanceScheduleDTO;
+import com.gearguard.model.Equipment;
+import com.gearguard.model.MaintenanceSchedule;
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.RecurrenceType;
+import com.gearguard.repository.EquipmentRepository;
+import com.gearguard.repository.MaintenanceScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Preventive maintenance schedules and the job that materializes their
+ * upcoming requests.
+ *
+ * Generation is set-based: each batch of schedule ids is expanded into
+ * requests by a single INSERT ... SELECT over generate_series, and the
+ * (schedule_id, scheduled_date) unique constraint makes reruns idempotent.
+ */
+@Service
+public class PreventiveMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreventiveMaintenanceService.class);
+
+    private static final String REQUEST_COLUMNS = "subject, description, equipment_id, type, stage, priority, "
+            + "assigned_team_id, assigned_to, scheduled_date, estimated_duration, is_overdue, created_at, schedule_id, updated_at";
+
+    // First occurrence on or after :today that keeps the schedule's phase
+    private static final String FIRST_OCCURRENCE = "CASE WHEN s.next_due_date >= CAST(:today AS date) THEN s.next_due_date "
+            + "ELSE s.next_due_date + s.interval_days * ((CAST(:today AS date) - s.next_due_date + s.interval_days - 1) / s.interval_days) END";
+
+    private static final String INSERT_INTERVAL_OCCURRENCES = "INSERT INTO maintenance_requests (" + REQUEST_COLUMNS + ") "
+            + "SELECT s.subject, s.description, s.equipment_id, 'PREVENTIVE', 'NEW', s.priority, "
+            + "e.maintenance_team_id, e.default_technician_id, CAST(d.due AS date), s.estimated_duration, false, now(), s.id, now() "
+            + "FROM maintenance_schedules s "
+            + "JOIN equipment e ON e.id = s.equipment_id "
+            + "CROSS JOIN LATERAL generate_series(" + FIRST_OCCURRENCE + ", CAST(:horizonEnd AS date), "
+            + "make_interval(days => s.interval_days)) AS d(due) "
+            + "WHERE s.id BETWEEN :fromId AND :toId "
+            + "AND s.active = true AND s.recurrence_type = 'INTERVAL_DAYS' AND s.interval_days > 0 "
+            + "AND s.next_due_date <= CAST(:horizonEnd AS date) "
+            + "AND e.status IN ('ACTIVE', 'MAINTENANCE') "
+            + "ON CONFLICT (schedule_id, scheduled_date) DO NOTHING";
+
+    // Moves next_due_date to the first occurrence after the horizon
+    private static final String ADVANCE_INTERVAL_SCHEDULES = "UPDATE maintenance_schedules s "
+            + "SET next_due_date = s.next_due_date + s.interval_days * "
+            + "((CAST(:horizonEnd AS date) - s.next_due_date) / s.interval_days + 1), updated_at = now() "
+            + "WHERE s.id BETWEEN :fromId AND :toId "
+            + "AND s.active = true AND s.recurrence_type = 'INTERVAL_DAYS' AND s.interval_days > 0 "
+            + "AND s.next_due_date <= CAST(:horizonEnd AS date)";
+
+    private static final String USAGE_DUE = "s.id BETWEEN :fromId AND :toId "
+            + "AND s.active = true AND s.recurrence_type = 'USAGE' AND s.usage_interval > 0 "
+            + "AND COALESCE(e.usage_reading, 0) - COALESCE(s.last_usage_reading, 0) >= s.usage_interval";
+
+    private static final String INSERT_USAGE_OCCURRENCES = "INSERT INTO maintenance_requests (" + REQUEST_COLUMNS + ") "
+            + "SELECT s.subject, s.description, s.equipment_id, 'PREVENTIVE', 'NEW', s.priority, "
+            + "e.maintenance_team_id, e.default_technician_id, CAST(:today AS date), s.estimated_duration, false, now(), s.id, now() "
+            + "FROM maintenance_schedules s "
+            + "JOIN equipment e ON e.id = s.equipment_id "
+            + "WHERE " + USAGE_DUE + " AND e.status IN ('ACTIVE', 'MAINTENANCE') "
+            + "ON CONFLICT (schedule_id, scheduled_date) DO NOTHING";
+
+    private static final String ADVANCE_USAGE_SCHEDULES = "UPDATE maintenance_schedules s "
+            + "SET last_usage_reading = e.usage_reading, updated_at = now() "
+            + "FROM equipment e "
+            + "WHERE e.id = s.equipment_id AND " + USAGE_DUE;
+
+    @Autowired
+    private MaintenanceScheduleRepository scheduleRepository;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TechnicianWorkloadIndex workloadIndex;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private ScheduledJobRunner jobRunner;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private SlaMonitor slaMonitor;
+
+    @Value("${app.preventive.horizon-days:30}")
+    private int horizonDays;
+
+    @Value("${app.preventive.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.preventive.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    public List<MaintenanceScheduleDTO> getSchedules(Long equipmentId) {
+        List<MaintenanceSchedule> schedules = equipmentId != null
+                ? scheduleRepository.findByEquipmentId(equipmentId)
+                : scheduleRepository.findAll();
+        return schedules.stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    public MaintenanceScheduleDTO createSchedule(CreateScheduleRequest request) {
+        Equipment equipment = equipmentRepository.findById(request.getEquipmentId())
+                .orElseThrow(() -> new RuntimeException("Equipment not found"));
+
+        MaintenanceSchedule schedule = MaintenanceSchedule.builder()
+                .equipment(equipment)
+                .recurrenceType(request.getRecurrenceType())
+                .subject(request.getSubject())
+                .description(request.getDescription())
+                .priority(request.getPriority() != null ? request.getPriority() : Priority.MEDIUM)
+                .estimatedDuration(request.getEstimatedDuration())
+                .build();
+
+        if (request.getRecurrenceType() == RecurrenceType.INTERVAL_DAYS) {
+            if (request.getIntervalDays() == null || request.getIntervalDays() <= 0) {
+                throw new RuntimeException("Interval in days must be greater than zero");
+            }
+            schedule.setIntervalDays(request.getIntervalDays());
+            schedule.setNextDueDate(request.getStartDate() != null
+                    ? request.getStartDate()
+                    : staggeredStart(equipment.getId(), request.getIntervalDays()));
+        } else {
+            if (request.getUsageInterval() == null || request.getUsageInterval() <= 0) {
+                throw new RuntimeException("Usage interval must be greater than zero");
+            }
+            schedule.setUsageInterval(request.getUsageInterval());
+            schedule.setLastUsageReading(equipment.getUsageReading() != null ? equipment.getUsageReading() : 0L);
+        }
+
+        MaintenanceSchedule saved = scheduleRepository.save(schedule);
+
+        auditLogService.log("CREATE", "MaintenanceSchedule", saved.getId(),
+                "Created preventive schedule: " + saved.getSubject() + " for " + equipment.getName());
+
+        return toDTO(saved);
+    }
+
+    public void deleteSchedule(Long id) {
+        MaintenanceSchedule schedule = scheduleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Schedule not found"));
+
+        scheduleRepository.delete(schedule);
+
+        auditLogService.log("DELETE", "MaintenanceSchedule", id, "Deleted preventive schedule: " + schedule.getSubject());
+    }
+
+    /**
+     * Scheduled job: materialize preventive requests up to the rolling horizon
+     * (runs nightly)
+     */
+    @Scheduled(cron = "${app.preventive.cron:0 30 2 * * *}")
+    public void generateScheduledRequests() {
+        jobRunner.runExclusive("preventive-generation", Duration.ofHours(2), () -> {
+            int generated = generateUpcomingRequests();
+            if (generated > 0) {
+                logger.info("Generated {} preventive maintenance requests", generated);
+            }
+        });
+    }
+
+    /**
+     * Walks active schedules in id-range batches, each in its own short
+     * transaction, and returns the number of requests created.
+     */
+    @BatchWorkload
+    public int generateUpcomingRequests() {
+        List<Object[]> range = scheduleRepository.findActiveIdRange();
+        if (range.isEmpty() || range.get(0)[0] == null) {
+            return 0;
+        }
+
+        long minId = (Long) range.get(0)[0];
+        long maxId = (Long) range.get(0)[1];
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEnd = today.plusDays(horizonDays);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int generated = 0;
+        for (long fromId = minId; fromId <= maxId; fromId += batchSize) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("fromId", fromId)
+                    .addValue("toId", fromId + batchSize - 1)
+                    .addValue("today", today)
+                    .addValue("horizonEnd", horizonEnd);
+
+            Integer inserted = transactionTemplate.execute(status -> {
+                int count = jdbcTemplate.update(INSERT_INTERVAL_OCCURRENCES, params);
+                jdbcTemplate.update(ADVANCE_INTERVAL_SCHEDULES, params);
+                count += jdbcTemplate.update(INSERT_USAGE_OCCURRENCES, params);
+                jdbcTemplate.update(ADVANCE_USAGE_SCHEDULES, params);
+                return count;
+            });
+            generated += inserted != null ? inserted : 0;
+
+            // Leave room for interactive traffic between batches
+            if (batchPauseMs > 0 && fromId + batchSize <= maxId) {
+                try {
+                    Thread.sleep(batchPauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        if (generated > 0) {
+            // Generated rows are assigned to default technicians directly
+            workloadIndex.rebuild();
+            slaMonitor.rebuildEverywhere();
+            dataVersions.bump(DataVersionService.Scope.REQUESTS);
+            auditLogService.log("CREATE", "Request", null,
+                    "Generated " + generated + " preventive requests up to " + horizonEnd);
+        }
+        return generated;
+    }
+
+    /**
+     * Offsets the first due date by equipment id so that a fleet of identical
+     * rules is spread over the interval instead of all falling due on one day.
+     */
+    private LocalDate staggeredStart(Long equipmentId, int intervalDays) {
+        return LocalDate.now().plusDays(Math.floorMod(equipmentId, intervalDays));
+    }
+
+    private MaintenanceScheduleDTO toDTO(MaintenanceSchedule schedule) {
+        return MaintenanceScheduleDTO.builder()
+                .id(schedule.getId())
+                .equipmentId(schedule.getEquipment() != null ? schedule.getEquipment().getId() : null)
+                .equipmentName(schedule.getEquipment() != null ? schedule.getEquipment().getName() : null)
+                .recurrenceType(schedule.getRecurrenceType())
+                .intervalDays(schedule.getIntervalDays())
+                .usageInterval(schedule.getUsageInterval())
+                .lastUsageReading(schedule.getLastUsageReading())
+                .nextDueDate(schedule.getNextDueDate())
+                .subject(schedule.getSubject())
+                .description(schedule.getDescription())
+                .priority(schedule.getPriority())
+                .estimatedDuration(schedule.getEstimatedDuration())
+                .active(schedule.getActive())
+                .createdAt(schedule.getCreatedAt())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.gearguard.service;
 
+import com.gearguard.config.ReportingWorkload;
 import com.gearguard.model.Equipment;
 import com.gearguard.model.MaintenanceRequest;
 import com.gearguard.repository.EquipmentRepository;
@@ -18,13 +19,17 @@ import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.awt.Color;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
+// Full-table reads; kept off the OLTP pool
+@ReportingWorkload
 @Service
 public class ReportService {
 
@@ -36,6 +41,7 @@ public class ReportService {
 
     // ==================== EQUIPMENT REPORTS ====================
 
+    @Transactional(readOnly = true)
     public byte[] generateEquipmentPdf() {
         List<Equipment> equipment = equipmentRepository.findAll();
 
@@ -70,6 +76,7 @@ public class ReportService {
 
             // Data rows
             for (Equipment eq : equipment) {
+                checkCancelled();
                 addPdfCell(table, String.valueOf(eq.getId()));
                 addPdfCell(table, eq.getName());
                 addPdfCell(table, eq.getSerialNumber());
@@ -93,6 +100,7 @@ public class ReportService {
         }
     }
 
+    @Transactional(readOnly = true)
     public byte[] generateEquipmentExcel() {
         List<Equipment> equipment = equipmentRepository.findAll();
 
@@ -121,6 +129,7 @@ public class ReportService {
             // Data rows
             int rowNum = 1;
             for (Equipment eq : equipment) {
+                checkCancelled();
                 org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum++);
                 row.createCell(0).setCellValue(eq.getId());
                 row.createCell(1).setCellValue(eq.getName());
@@ -145,6 +154,7 @@ public class ReportService {
 
     // ==================== MAINTENANCE HISTORY REPORTS ====================
 
+    @Transactional(readOnly = true)
     public byte[] generateMaintenanceHistoryPdf() {
         List<MaintenanceRequest> requests = requestRepository.findAllForKanban();
 
@@ -179,6 +189,7 @@ public class ReportService {
 
             // Data rows
             for (MaintenanceRequest req : requests) {
+                checkCancelled();
                 addPdfCell(table, String.valueOf(req.getId()));
                 addPdfCell(table, req.getSubject());
                 addPdfCell(table, req.getEquipment() != null ? req.getEquipment().getName() : "N/A");
@@ -212,6 +223,7 @@ public class ReportService {
         }
     }
 
+    @Transactional(readOnly = true)
     public byte[] generateMaintenanceHistoryExcel() {
         List<MaintenanceRequest> requests = requestRepository.findAllForKanban();
 
@@ -240,6 +252,7 @@ public class ReportService {
             // Data rows
             int rowNum = 1;
             for (MaintenanceRequest req : requests) {
+                checkCancelled();
                 org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum++);
                 row.createCell(0).setCellValue(req.getId());
                 row.createCell(1).setCellValue(req.getSubject() != null ? req.getSubject() : "");
@@ -268,6 +281,13 @@ public class ReportService {
 
     // ==================== HELPER METHODS ====================
 
+    // The request timed out and ReportController cancelled the task; stop building rows nobody will receive
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Report cancelled");
+        }
+    }
+
     private void addPdfHeader(PdfPTable table, String... headers) {
         Font headerFont = new Font(Font.HELVETICA, 10, Font.BOLD, Color.WHITE);
         for (String header : headers) {
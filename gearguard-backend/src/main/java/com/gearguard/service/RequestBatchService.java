@@ -0,0 +1,290 @@
+package com.gearguard.service;
+
+import com.gearguard.dto.BatchRequestOperation;
+import com.gearguard.dto.BatchResultDTO;
+import com.gearguard.model.MaintenanceTeam;
+import com.gearguard.model.User;
+import com.gearguard.model.enums.NotificationType;
+import com.gearguard.model.enums.RequestStage;
+import com.gearguard.repository.MaintenanceTeamRepository;
+import com.gearguard.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies one stage / assignee / team change to many requests at once.
+ *
+ * The affected rows are locked in id order. Rows needing the same combination
+ * of changes share one UPDATE, so each row is written once and its version
+ * goes up by one; the new versions are then stored as revisions with a single
+ * insert. Audit rows and notifications are written with JDBC batch inserts,
+ * so a batch costs a handful of statements no matter how many requests it
+ * touches.
+ */
+@Service
+public class RequestBatchService {
+
+    private static final String LOCK_ROWS = "SELECT r.id, r.stage, r.assigned_to, r.assigned_team_id, r.subject, r.equipment_id "
+            + "FROM maintenance_requests r WHERE r.id IN (:ids) ORDER BY r.id FOR UPDATE";
+
+    // Each row gets all its changes in one statement, so its version goes up once
+    private static final String UPDATE_ROWS = "UPDATE maintenance_requests SET %s, updated_at = :now, version = version + 1 "
+            + "WHERE id IN (:ids)";
+
+    private static final String SET_CLOSED_STAGE = "stage = :stage, completed_at = :now, is_overdue = false";
+
+    private static final String SET_OPEN_STAGE = "stage = :stage, completed_at = NULL, "
+            + "started_at = CASE WHEN :stage = 'IN_PROGRESS' THEN COALESCE(started_at, :now) ELSE started_at END, "
+            + "is_overdue = CASE WHEN scheduled_date IS NOT NULL THEN scheduled_date < :today ELSE is_overdue END";
+
+    private static final String SET_ASSIGNEE = "assigned_to = :assigneeId";
+
+    private static final String SET_TEAM = "assigned_team_id = :teamId";
+
+    // Same effect as a single scrap in MaintenanceRequestService.updateStage
+    private static final String SCRAP_EQUIPMENT = "UPDATE equipment e SET status = 'INACTIVE', updated_at = :now, version = e.version + 1, "
+            + "notes = COALESCE(e.notes || chr(10), '') || '[SCRAPPED] ' || :today || ' - Request #' || r.id || ': ' || r.subject "
+            + "FROM maintenance_requests r WHERE r.equipment_id = e.id AND r.id IN (:ids) "
+            + "RETURNING e.id, r.id";
+
+    private static final String INSERT_AUDIT = "INSERT INTO audit_logs (action, entity_type, entity_id, details, user_id, created_at) "
+            + "VALUES ('UPDATE', :entityType, :entityId, :details, :userId, :now)";
+
+    private static final String INSERT_NOTIFICATION = "INSERT INTO notifications "
+            + "(user_id, title, message, type, is_read, related_entity_type, related_entity_id, created_at) "
+            + "VALUES (:userId, :title, :message, :type, false, 'MaintenanceRequest', :requestId, :now)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MaintenanceTeamRepository teamRepository;
+
+    @Autowired
+    private TechnicianWorkloadIndex workloadIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private RequestRevisionHistory revisionHistory;
+
+    private record Row(Long id, RequestStage stage, Long assigneeId, Long teamId, String subject, Long equipmentId) {
+    }
+
+    @Transactional
+    public BatchResultDTO applyBatch(BatchRequestOperation operation) {
+        RequestStage targetStage = operation.getStage();
+        if (targetStage == null && operation.getAssignedToId() == null && operation.getAssignedTeamId() == null) {
+            throw new RuntimeException("Nothing to change: provide a stage, assignee or team");
+        }
+
+        User assignee = operation.getAssignedToId() != null
+                ? userRepository.findById(operation.getAssignedToId())
+                        .orElseThrow(() -> new RuntimeException("Assignee not found"))
+                : null;
+        MaintenanceTeam team = operation.getAssignedTeamId() != null
+                ? teamRepository.findById(operation.getAssignedTeamId())
+                        .orElseThrow(() -> new RuntimeException("Team not found"))
+                : null;
+
+        Set<Long> ids = new LinkedHashSet<>(operation.getIds());
+        ids.remove(null);
+        Map<Long, Row> rows = lockRows(ids);
+
+        LocalDateTime now = LocalDateTime.now();
+        Long actorId = getCurrentUserId();
+        boolean closing = targetStage == RequestStage.REPAIRED || targetStage == RequestStage.SCRAP;
+        List<Long> stageIds = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        // SET clause -> ids of the rows needing exactly those changes
+        Map<String, List<Long>> updates = new LinkedHashMap<>();
+        Set<Long> changedEquipmentIds = new HashSet<>();
+        List<SqlParameterSource> audits = new ArrayList<>();
+        List<SqlParameterSource> notifications = new ArrayList<>();
+        List<BatchResultDTO.ItemResult> results = new ArrayList<>();
+
+        for (Long id : ids) {
+            Row row = rows.get(id);
+            if (row == null) {
+                results.add(result(id, BatchResultDTO.NOT_FOUND, "Request not found"));
+                continue;
+            }
+
+            boolean stageChange = targetStage != null && targetStage != row.stage();
+            boolean assignChange = assignee != null && !assignee.getId().equals(row.assigneeId());
+            boolean teamChange = team != null && !team.getId().equals(row.teamId());
+            if (!stageChange && !assignChange && !teamChange) {
+                results.add(result(id, BatchResultDTO.UNCHANGED, null));
+                continue;
+            }
+
+            List<String> changes = new ArrayList<>();
+            List<String> sets = new ArrayList<>();
+            if (stageChange) {
+                stageIds.add(id);
+                changedEquipmentIds.add(row.equipmentId());
+                sets.add(closing ? SET_CLOSED_STAGE : SET_OPEN_STAGE);
+                changes.add("Stage changed: " + row.stage() + " → " + targetStage);
+            }
+            if (assignChange) {
+                sets.add(SET_ASSIGNEE);
+                changes.add("Assigned to " + assignee.getFullName());
+            }
+            if (teamChange) {
+                sets.add(SET_TEAM);
+                changes.add("Team set to " + team.getName());
+            }
+            changedIds.add(id);
+            updates.computeIfAbsent(String.join(", ", sets), set -> new ArrayList<>()).add(id);
+            String details = String.join("; ", changes) + " for: " + row.subject() + " (batch)";
+            audits.add(auditParams("Request", id, details, actorId, now));
+
+            Long newAssigneeId = assignChange ? assignee.getId() : row.assigneeId();
+            RequestStage newStage = stageChange ? targetStage : row.stage();
+            workloadIndex.transfer(row.assigneeId(), TechnicianWorkloadIndex.isOpen(row.stage()),
+                    newAssigneeId, TechnicianWorkloadIndex.isOpen(newStage));
+
+            if (assignChange) {
+                notifications.add(notificationParams(newAssigneeId, "New Request Assigned",
+                        "You have been assigned to: " + row.subject(), NotificationType.REQUEST_ASSIGNED, id, now));
+            } else if (stageChange && newAssigneeId != null && !newAssigneeId.equals(actorId)) {
+                boolean completed = newStage == RequestStage.REPAIRED;
+                notifications.add(notificationParams(newAssigneeId,
+                        completed ? "Request Completed" : "Request Updated",
+                        row.subject() + " has been moved to " + newStage,
+                        completed ? NotificationType.REQUEST_COMPLETED : NotificationType.REQUEST_UPDATED, id, now));
+            }
+
+            results.add(result(id, BatchResultDTO.UPDATED, String.join("; ", changes)));
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("today", LocalDate.now())
+                .addValue("stage", targetStage != null ? targetStage.name() : null)
+                .addValue("assigneeId", assignee != null ? assignee.getId() : null)
+                .addValue("teamId", team != null ? team.getId() : null);
+        updates.forEach((sets, updateIds) -> jdbcTemplate.update(String.format(UPDATE_ROWS, sets),
+                new MapSqlParameterSource(params.getValues()).addValue("ids", updateIds)));
+        if (!changedIds.isEmpty()) {
+            revisionHistory.recordBulkWrite(changedIds);
+        }
+
+        if (targetStage == RequestStage.SCRAP && !stageIds.isEmpty()) {
+            MapSqlParameterSource scrapParams = new MapSqlParameterSource(params.getValues())
+                    .addValue("ids", stageIds)
+                    .addValue("today", LocalDate.now().toString());
+            jdbcTemplate.query(SCRAP_EQUIPMENT, scrapParams, rs -> {
+                audits.add(auditParams("Equipment", rs.getLong(1),
+                        "Equipment marked as INACTIVE due to scrap - Request #" + rs.getLong(2), actorId, now));
+            });
+            dataVersions.bump(DataVersionService.Scope.EQUIPMENT);
+        }
+
+        if (!audits.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_AUDIT, audits.toArray(new SqlParameterSource[0]));
+        }
+        if (!notifications.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, notifications.toArray(new SqlParameterSource[0]));
+        }
+        if (!changedIds.isEmpty()) {
+            dataVersions.bump(DataVersionService.Scope.REQUESTS);
+        }
+        if (!changedEquipmentIds.isEmpty()) {
+            eventPublisher.publishEvent(new EquipmentHistoryChangedEvent(changedEquipmentIds));
+        }
+        if (!stageIds.isEmpty()) {
+            eventPublisher.publishEvent(new RequestDeadlinesChangedEvent(new HashSet<>(stageIds)));
+        }
+
+        int updated = (int) results.stream().filter(r -> BatchResultDTO.UPDATED.equals(r.getStatus())).count();
+        return BatchResultDTO.builder()
+                .requested(ids.size())
+                .updated(updated)
+                .results(results)
+                .build();
+    }
+
+    private Map<Long, Row> lockRows(Set<Long> ids) {
+        Map<Long, Row> rows = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        jdbcTemplate.query(LOCK_ROWS, new MapSqlParameterSource("ids", ids), rs -> {
+            long assigneeId = rs.getLong(3);
+            Long assignee = rs.wasNull() ? null : assigneeId;
+            long teamId = rs.getLong(4);
+            Long team = rs.wasNull() ? null : teamId;
+            String stage = rs.getString(2);
+            rows.put(rs.getLong(1), new Row(rs.getLong(1), stage != null ? RequestStage.valueOf(stage) : null,
+                    assignee, team, rs.getString(5), rs.getLong(6)));
+        });
+        return rows;
+    }
+
+    private SqlParameterSource auditParams(String entityType, Long entityId, String details, Long userId,
+                                           LocalDateTime now) {
+        return new MapSqlParameterSource()
+                .addValue("entityType", entityType)
+                .addValue("entityId", entityId)
+                .addValue("details", details)
+                .addValue("userId", userId, Types.BIGINT)
+                .addValue("now", now);
+    }
+
+    private SqlParameterSource notificationParams(Long userId, String title, String message, NotificationType type,
+                                                  Long requestId, LocalDateTime now) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("title", title)
+                .addValue("message", message)
+                .addValue("type", type.name())
+                .addValue("requestId", requestId)
+                .addValue("now", now);
+    }
+
+    private BatchResultDTO.ItemResult result(Long id, String status, String message) {
+        return BatchResultDTO.ItemResult.builder()
+                .id(id)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private Long getCurrentUserId() {
+        try {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null) {
+                return userRepository.findByEmail(auth.getName()).map(User::getId).orElse(null);
+            }
+        } catch (Exception e) {
+            // Ignore
+        }
+        return null;
+    }
+}
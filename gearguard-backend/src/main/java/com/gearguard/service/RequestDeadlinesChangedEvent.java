@@ -0,0 +1,14 @@
+package com.gearguard.service;
+
+import java.util.Set;
+
+/**
+ * Published when requests were created, deleted, or changed stage or
+ * priority, so their SLA timers can be rescheduled after commit.
+ */
+public record RequestDeadlinesChangedEvent(Set<Long> requestIds) {
+
+    public static RequestDeadlinesChangedEvent of(Long requestId) {
+        return new RequestDeadlinesChangedEvent(Set.of(requestId));
+    }
+}
@@ -0,0 +1,235 @@
+package com.gearguard.service;
+
+import com.gearguard.model.MaintenanceRequest;
+import com.gearguard.model.RequestRevision;
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.RequestStage;
+import com.gearguard.model.enums.RequestType;
+import com.gearguard.repository.RequestRevisionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recent editable-field snapshots of maintenance requests, keyed by version.
+ *
+ * A client that saves against a stale version is merged against the snapshot
+ * of the version it loaded, so edits to different fields both survive.
+ * Every version written through the service or a batch is stored in
+ * request_revisions in the writing transaction, so any node can find the
+ * base of a save; the newest few per request are kept. A per-node LRU sits
+ * in front. When the base version is not known (pruned, or written before
+ * revisions were stored) the update is rejected as a conflict instead of
+ * guessed at.
+ */
+@Component
+public class RequestRevisionHistory {
+
+    private static final String INSERT_CURRENT = "INSERT INTO request_revisions (request_id, version, subject, "
+            + "description, type, priority, stage, scheduled_date, estimated_duration, notes, equipment_id, "
+            + "assigned_team_id, assigned_to, created_at) "
+            + "SELECT id, version, subject, description, type, priority, stage, scheduled_date, estimated_duration, "
+            + "notes, equipment_id, assigned_team_id, assigned_to, :now "
+            + "FROM maintenance_requests WHERE id IN (:ids) "
+            + "ON CONFLICT (request_id, version) DO NOTHING";
+
+    private static final String PRUNE_CURRENT = "DELETE FROM request_revisions v USING maintenance_requests r "
+            + "WHERE v.request_id = r.id AND r.id IN (:ids) AND v.version <= r.version - :keep";
+
+    public static final String SUBJECT = "subject";
+    public static final String DESCRIPTION = "description";
+    public static final String TYPE = "type";
+    public static final String PRIORITY = "priority";
+    public static final String SCHEDULED_DATE = "scheduledDate";
+    public static final String ESTIMATED_DURATION = "estimatedDuration";
+    public static final String NOTES = "notes";
+    public static final String EQUIPMENT_ID = "equipmentId";
+    public static final String ASSIGNED_TEAM_ID = "assignedTeamId";
+    public static final String ASSIGNED_TO_ID = "assignedToId";
+    public static final String STAGE = "stage";
+
+    @Value("${app.requests.revision-history.versions-per-request:10}")
+    private int versionsPerRequest;
+
+    @Autowired
+    private RequestRevisionRepository revisionRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Deque<Revision>> revisions;
+
+    public RequestRevisionHistory(@Value("${app.requests.revision-history.max-requests:5000}") int maxRequests) {
+        this.revisions = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Deque<Revision>> eldest) {
+                return size() > maxRequests;
+            }
+        });
+    }
+
+    /**
+     * Remembers the current state of a request. Cheap to call on every read;
+     * an already known version is not stored twice.
+     */
+    public void record(MaintenanceRequest request) {
+        if (request.getId() == null || request.getVersion() == null) {
+            return;
+        }
+        store(request.getId(), new Revision(request.getVersion(), snapshot(request)));
+    }
+
+    /**
+     * Persists the state a write is about to commit, in the same transaction,
+     * and caches it locally once that commits. Call after flushing so the
+     * version has been incremented.
+     */
+    public void recordWrite(MaintenanceRequest request) {
+        Long requestId = request.getId();
+        Revision revision = new Revision(request.getVersion(), snapshot(request));
+        revisionRepository.save(toEntity(requestId, revision));
+        if (request.getVersion() > versionsPerRequest) {
+            revisionRepository.deleteUpToVersion(requestId, request.getVersion() - versionsPerRequest);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store(requestId, revision);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                store(requestId, revision);
+            }
+        });
+    }
+
+    /**
+     * Persists the current rows of requests changed by bulk SQL, in the
+     * caller's transaction: one insert and one prune for all of them. Call
+     * after the UPDATE so the rows carry their new versions.
+     */
+    public void recordBulkWrite(Collection<Long> requestIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", requestIds)
+                .addValue("now", LocalDateTime.now())
+                .addValue("keep", versionsPerRequest);
+        jdbcTemplate.update(INSERT_CURRENT, params);
+        jdbcTemplate.update(PRUNE_CURRENT, params);
+    }
+
+    private void store(Long requestId, Revision revision) {
+        synchronized (revisions) {
+            Deque<Revision> history = revisions.computeIfAbsent(requestId, id -> new ArrayDeque<>());
+            if (history.stream().anyMatch(known -> known.version() == revision.version())) {
+                return;
+            }
+            history.addLast(revision);
+            while (history.size() > versionsPerRequest) {
+                history.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Field values of the given version, or null when it has been pruned or
+     * was never written through the service nor read by this node.
+     */
+    public Map<String, Object> find(Long requestId, long version) {
+        synchronized (revisions) {
+            Deque<Revision> history = revisions.get(requestId);
+            if (history != null) {
+                Map<String, Object> known = history.stream()
+                        .filter(revision -> revision.version() == version)
+                        .map(Revision::fields)
+                        .findFirst()
+                        .orElse(null);
+                if (known != null) {
+                    return known;
+                }
+            }
+        }
+
+        // Written on another node, or evicted here
+        return revisionRepository.findByRequestIdAndVersion(requestId, version)
+                .map(stored -> {
+                    Revision revision = new Revision(stored.getVersion(), fields(stored));
+                    store(requestId, revision);
+                    return revision.fields();
+                })
+                .orElse(null);
+    }
+
+    public void forget(Long requestId) {
+        revisions.remove(requestId);
+        revisionRepository.deleteByRequest(requestId);
+    }
+
+    public static Map<String, Object> snapshot(MaintenanceRequest request) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(SUBJECT, request.getSubject());
+        fields.put(DESCRIPTION, request.getDescription());
+        fields.put(TYPE, request.getType());
+        fields.put(PRIORITY, request.getPriority());
+        fields.put(SCHEDULED_DATE, request.getScheduledDate());
+        fields.put(ESTIMATED_DURATION, request.getEstimatedDuration());
+        fields.put(NOTES, request.getNotes());
+        fields.put(EQUIPMENT_ID, request.getEquipment() != null ? request.getEquipment().getId() : null);
+        fields.put(ASSIGNED_TEAM_ID, request.getAssignedTeam() != null ? request.getAssignedTeam().getId() : null);
+        fields.put(ASSIGNED_TO_ID, request.getAssignedTo() != null ? request.getAssignedTo().getId() : null);
+        fields.put(STAGE, request.getStage());
+        return fields;
+    }
+
+    private static RequestRevision toEntity(Long requestId, Revision revision) {
+        Map<String, Object> fields = revision.fields();
+        return RequestRevision.builder()
+                .requestId(requestId)
+                .version(revision.version())
+                .subject((String) fields.get(SUBJECT))
+                .description((String) fields.get(DESCRIPTION))
+                .type((RequestType) fields.get(TYPE))
+                .priority((Priority) fields.get(PRIORITY))
+                .scheduledDate((LocalDate) fields.get(SCHEDULED_DATE))
+                .estimatedDuration((Integer) fields.get(ESTIMATED_DURATION))
+                .notes((String) fields.get(NOTES))
+                .equipmentId((Long) fields.get(EQUIPMENT_ID))
+                .assignedTeamId((Long) fields.get(ASSIGNED_TEAM_ID))
+                .assignedToId((Long) fields.get(ASSIGNED_TO_ID))
+                .stage((RequestStage) fields.get(STAGE))
+                .build();
+    }
+
+    // Same keys and value types as snapshot(), so merges compare like with like
+    private static Map<String, Object> fields(RequestRevision stored) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(SUBJECT, stored.getSubject());
+        fields.put(DESCRIPTION, stored.getDescription());
+        fields.put(TYPE, stored.getType());
+        fields.put(PRIORITY, stored.getPriority());
+        fields.put(SCHEDULED_DATE, stored.getScheduledDate());
+        fields.put(ESTIMATED_DURATION, stored.getEstimatedDuration());
+        fields.put(NOTES, stored.getNotes());
+        fields.put(EQUIPMENT_ID, stored.getEquipmentId());
+        fields.put(ASSIGNED_TEAM_ID, stored.getAssignedTeamId());
+        fields.put(ASSIGNED_TO_ID, stored.getAssignedToId());
+        fields.put(STAGE, stored.getStage());
+        return fields;
+    }
+
+    private record Revision(long version, Map<String, Object> fields) {
+    }
+}
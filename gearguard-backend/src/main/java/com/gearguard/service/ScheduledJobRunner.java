@@ -0,0 +1,136 @@
+package com.gearguard.service;
+
+import com.gearguard.config.BatchWorkload;
+import com.gearguard.model.JobRun;
+import com.gearguard.repository.JobRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Runs scheduled jobs on exactly one node of the cluster.
+ *
+ * Each job takes a lease row in scheduled_job_locks with a single upsert that
+ * only succeeds when no other node holds an unexpired lease. If the holder
+ * dies, the lease expires and the next tick on another node takes over. On
+ * completion the lease is kept for at least the minimum hold so that nodes
+ * whose clocks fire slightly later skip the same tick. Every run is recorded
+ * in job_runs with its node, outcome and duration.
+ */
+@Service
+public class ScheduledJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledJobRunner.class);
+
+    private static final String ACQUIRE = "INSERT INTO scheduled_job_locks (job_name, locked_by, locked_at, locked_until) "
+            + "VALUES (?, ?, now(), now() + CAST(? AS integer) * interval '1 second') "
+            + "ON CONFLICT (job_name) DO UPDATE SET locked_by = EXCLUDED.locked_by, "
+            + "locked_at = EXCLUDED.locked_at, locked_until = EXCLUDED.locked_until "
+            + "WHERE scheduled_job_locks.locked_until <= now()";
+
+    private static final String RELEASE = "UPDATE scheduled_job_locks "
+            + "SET locked_until = GREATEST(now(), locked_at + CAST(? AS integer) * interval '1 second') "
+            + "WHERE job_name = ? AND locked_by = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Value("${app.jobs.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${app.jobs.min-hold-seconds:30}")
+    private int minHoldSeconds;
+
+    @Value("${app.jobs.history-days:30}")
+    private int historyDays;
+
+    private String nodeId;
+
+    @PostConstruct
+    public void init() {
+        if (configuredNodeId != null && !configuredNodeId.isBlank()) {
+            nodeId = configuredNodeId;
+            return;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Runs the job if this node can take its lease. Returns false when another
+     * node holds it. The lease should comfortably exceed the job's run time.
+     * Jobs run on the batch pool, clear of the OLTP statement timeout.
+     */
+    @BatchWorkload
+    public boolean runExclusive(String jobName, Duration lease, Runnable job) {
+        int acquired = jdbcTemplate.update(ACQUIRE, jobName, nodeId, (int) lease.toSeconds());
+        if (acquired == 0) {
+            logger.debug("Skipping {}: lease held by another node", jobName);
+            return false;
+        }
+
+        JobRun run = jobRunRepository.save(JobRun.builder()
+                .jobName(jobName)
+                .node(nodeId)
+                .status(JobRun.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build());
+        long started = System.nanoTime();
+        try {
+            job.run();
+            run.setStatus(JobRun.SUCCEEDED);
+            return true;
+        } catch (RuntimeException e) {
+            run.setStatus(JobRun.FAILED);
+            run.setErrorMessage(e.getMessage());
+            throw e;
+        } finally {
+            run.setFinishedAt(LocalDateTime.now());
+            run.setDurationMs(Duration.ofNanos(System.nanoTime() - started).toMillis());
+            try {
+                jobRunRepository.save(run);
+                jdbcTemplate.update(RELEASE, minHoldSeconds, jobName, nodeId);
+            } catch (Exception e) {
+                // The lease still expires on its own
+                logger.warn("Could not record completion of {}: {}", jobName, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Scheduled job: prune old run history (runs daily). Annotated itself
+     * because its runExclusive call is a self-call the aspect never sees.
+     */
+    @BatchWorkload
+    @Scheduled(cron = "${app.jobs.history-prune-cron:0 5 4 * * *}")
+    public void pruneHistory() {
+        runExclusive("job-history-prune", Duration.ofMinutes(10), () -> {
+            int removed = jobRunRepository.deleteStartedBefore(LocalDateTime.now().minusDays(historyDays));
+            if (removed > 0) {
+                logger.info("Pruned {} job run records", removed);
+            }
+        });
+    }
+}
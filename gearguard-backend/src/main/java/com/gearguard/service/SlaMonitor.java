@@ -0,0 +1,503 @@
+package com.gearguard.service;
+
+import com.gearguard.config.SlaProperties;
+import com.gearguard.model.User;
+import com.gearguard.model.enums.NotificationType;
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.RequestStage;
+import com.gearguard.model.enums.UserRole;
+import com.gearguard.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Tracks response and resolution deadlines of open requests against the
+ * per-priority policies in {@link SlaProperties}.
+ *
+ * Deadlines live in an in-memory {@link TimingWheel} that is filled from the
+ * database at startup and kept current by {@link RequestDeadlinesChangedEvent};
+ * advancing it every tick touches no table. When a deadline comes due a
+ * single conditional UPDATE records the breach, so a request that met its
+ * target in the meantime is left alone and only one node escalates.
+ *
+ * Nodes share changes through PostgreSQL LISTEN/NOTIFY: after commit the
+ * changed ids go out on {@value #CHANNEL}, and every other node reloads just
+ * those requests. Each node listens on a dedicated connection outside the
+ * pools and rebuilds from scratch whenever it (re)connects, which covers
+ * anything sent while it was not listening; there is no periodic reload.
+ */
+@Service
+public class SlaMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlaMonitor.class);
+
+    public enum Target {
+        RESPONSE, RESOLUTION
+    }
+
+    // Work scheduled ahead (preventive requests) is measured from its scheduled date
+    private static final String CLOCK_START = "GREATEST(created_at, COALESCE(CAST(scheduled_date AS timestamp), created_at))";
+
+    private static final String OPEN_SELECT = "SELECT id, priority, stage, " + CLOCK_START + ", "
+            + "sla_response_breached_at IS NOT NULL, sla_resolve_breached_at IS NOT NULL "
+            + "FROM maintenance_requests WHERE stage IN ('NEW', 'IN_PROGRESS') "
+            + "AND (sla_response_breached_at IS NULL OR sla_resolve_breached_at IS NULL)";
+
+    private static final String OPEN_BY_IDS = OPEN_SELECT + " AND id IN (:ids)";
+
+    static final String CHANNEL = "sla_deadlines";
+
+    private static final String NOTIFY = "SELECT pg_notify('" + CHANNEL + "', :payload)";
+
+    // Payload is "<node>:<id>,<id>,..." or "<node>:*" for a full rebuild; ids are chunked
+    // so a payload stays well under PostgreSQL's 8000-byte limit
+    private static final int IDS_PER_NOTIFICATION = 300;
+    private static final String EVERYTHING = "*";
+
+    // How long the listener blocks waiting for notifications before checking for shutdown
+    private static final int LISTEN_TIMEOUT_MS = 10_000;
+
+    // Breach timestamps are derived, so they do not bump the optimistic-lock version. They
+    // do touch updated_at: incremental exports carry the breach columns.
+    private static final String RESPONSE_BREACH = "UPDATE maintenance_requests "
+            + "SET sla_response_breached_at = :now, updated_at = :now "
+            + "WHERE id = :id AND priority = :priority AND " + CLOCK_START + " <= :startedBefore "
+            + "AND stage = 'NEW' AND sla_response_breached_at IS NULL "
+            + "RETURNING subject, assigned_to";
+
+    private static final String RESOLVE_BREACH = "UPDATE maintenance_requests "
+            + "SET sla_resolve_breached_at = :now, updated_at = :now "
+            + "WHERE id = :id AND priority = :priority AND " + CLOCK_START + " <= :startedBefore "
+            + "AND stage IN ('NEW', 'IN_PROGRESS') AND sla_resolve_breached_at IS NULL "
+            + "RETURNING subject, assigned_to";
+
+    @Autowired
+    private SlaProperties properties;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private ThreadPoolTaskExecutor notificationExecutor;
+
+    private TimingWheel<Deadline> wheel;
+
+    // Tells this node's own notifications apart from those of other nodes
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean listening;
+    private volatile boolean rebuildRequested;
+    private Thread listener;
+
+    // Guarded by itself; pending timeouts per request id
+    private final Map<Long, List<TimingWheel.Timeout<Deadline>>> timers = new HashMap<>();
+
+    private record Deadline(Long requestId, Target target, Priority priority, Duration within, long dueAt) {
+    }
+
+    private record OpenRequest(Long id, Priority priority, RequestStage stage, LocalDateTime clockStart,
+            boolean responseBreached, boolean resolveBreached) {
+    }
+
+    private record Breach(String subject, Long assigneeId) {
+    }
+
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel<>(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+        Gauge.builder("sla.timers.pending", wheel, TimingWheel::size).register(meterRegistry);
+    }
+
+    // The listener fills the wheel once it is subscribed, so nothing committed in between is missed
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        listening = true;
+        listener = new Thread(this::listen, "sla-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        listening = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Reloads every open request that still has a target to meet and replaces
+     * the timers of this node with the result.
+     */
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<Long, OpenRequest> open = load(OPEN_SELECT, new MapSqlParameterSource());
+        synchronized (timers) {
+            for (Long requestId : new ArrayList<>(timers.keySet())) {
+                if (!open.containsKey(requestId)) {
+                    cancel(requestId);
+                }
+            }
+            open.values().forEach(this::reschedule);
+        }
+        logger.debug("SLA timers rebuilt for {} open requests", open.size());
+    }
+
+    /**
+     * Rebuilds this node and asks every other node to do the same, for bulk
+     * writes that do not track the ids they touch.
+     */
+    public void rebuildEverywhere() {
+        rebuild();
+        publish(List.of(EVERYTHING));
+    }
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeadlinesChanged(RequestDeadlinesChangedEvent event) {
+        if (!properties.isEnabled() || event.requestIds().isEmpty()) {
+            return;
+        }
+        publish(event.requestIds().stream().map(String::valueOf).toList());
+        refresh(event.requestIds());
+    }
+
+    private void refresh(Set<Long> requestIds) {
+        try {
+            Map<Long, OpenRequest> open = load(OPEN_BY_IDS, new MapSqlParameterSource("ids", requestIds));
+            synchronized (timers) {
+                for (Long requestId : requestIds) {
+                    OpenRequest request = open.get(requestId);
+                    if (request != null) {
+                        reschedule(request);
+                    } else {
+                        cancel(requestId);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // The listener rebuilds on its next wake-up
+            rebuildRequested = true;
+            logger.warn("SLA timers not updated for {}: {}", requestIds, e.getMessage());
+        }
+    }
+
+    // Committed already, so receivers read the new rows
+    private void publish(List<String> items) {
+        try {
+            for (int from = 0; from < items.size(); from += IDS_PER_NOTIFICATION) {
+                String payload = nodeId + ":"
+                        + String.join(",", items.subList(from, Math.min(from + IDS_PER_NOTIFICATION, items.size())));
+                jdbcTemplate.execute(NOTIFY, new MapSqlParameterSource("payload", payload), statement -> statement.execute());
+            }
+        } catch (Exception e) {
+            // Other nodes keep their current timers for these requests until they next reconnect
+            logger.warn("SLA change not sent to other nodes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Holds a LISTEN connection for as long as the node runs, reconnecting
+     * after a failure, and applies the changes other nodes announce.
+     */
+    private void listen() {
+        while (listening) {
+            try (Connection connection = openListenerConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                rebuildRequested = false;
+                rebuild();
+                while (listening) {
+                    PGNotification[] received = notifications.getNotifications(LISTEN_TIMEOUT_MS);
+                    if (rebuildRequested || needsRebuild(received)) {
+                        rebuildRequested = false;
+                        rebuild();
+                    } else {
+                        Set<Long> changed = changedIds(received);
+                        if (!changed.isEmpty()) {
+                            refresh(changed);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!listening) {
+                    return;
+                }
+                logger.warn("SLA change listener disconnected, retrying in {}: {}", properties.getReconnectDelay(),
+                        e.getMessage());
+                try {
+                    Thread.sleep(properties.getReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Outside the pools: it stays open and idle for the node's lifetime
+    private Connection openListenerConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            connectionProperties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            connectionProperties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        connectionProperties.setProperty("tcpKeepAlive", "true");
+        connectionProperties.setProperty("ApplicationName", "gearguard-sla-listener");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    private boolean needsRebuild(PGNotification[] received) {
+        if (received != null) {
+            for (PGNotification notification : received) {
+                String items = fromOtherNode(notification);
+                if (EVERYTHING.equals(items)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Set<Long> changedIds(PGNotification[] received) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (received == null) {
+            return ids;
+        }
+        for (PGNotification notification : received) {
+            String items = fromOtherNode(notification);
+            if (items == null || items.isEmpty()) {
+                continue;
+            }
+            for (String id : items.split(",")) {
+                try {
+                    ids.add(Long.valueOf(id));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring malformed SLA change notification: {}", notification.getParameter());
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+
+    // The part after the node id, or null for this node's own notifications
+    private String fromOtherNode(PGNotification notification) {
+        String payload = notification.getParameter();
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return null;
+        }
+        return payload.substring(separator + 1);
+    }
+
+    // Per node: each node advances its own wheel
+    @Scheduled(fixedRateString = "${app.sla.tick-ms:1000}")
+    public void tick() {
+        List<Deadline> due = wheel.advance(System.currentTimeMillis());
+        for (Deadline deadline : due) {
+            synchronized (timers) {
+                timers.computeIfPresent(deadline.requestId(), (id, pending) -> {
+                    pending.removeIf(timeout -> timeout.payload() == deadline);
+                    return pending.isEmpty() ? null : pending;
+                });
+            }
+            try {
+                notificationExecutor.execute(() -> report(deadline));
+            } catch (RejectedExecutionException e) {
+                // Still unrecorded, so check again on the next tick
+                logger.warn("SLA breach check for request #{} rejected: {}", deadline.requestId(), e.getMessage());
+                synchronized (timers) {
+                    timers.computeIfAbsent(deadline.requestId(), id -> new ArrayList<>(2))
+                            .add(wheel.schedule(deadline, System.currentTimeMillis() + properties.getTickMs()));
+                }
+            }
+        }
+    }
+
+    private void reschedule(OpenRequest request) {
+        cancel(request.id());
+
+        SlaProperties.Policy policy = properties.policy(request.priority());
+        if (policy == null || request.clockStart() == null) {
+            return;
+        }
+        // Rounded up to the millisecond so the breach check in SQL never sees an early deadline
+        Instant start = request.clockStart().atZone(ZoneId.systemDefault()).toInstant();
+        long clockStart = start.toEpochMilli() + (start.getNano() % 1_000_000 > 0 ? 1 : 0);
+
+        List<TimingWheel.Timeout<Deadline>> pending = new ArrayList<>(2);
+        if (request.stage() == RequestStage.NEW && !request.responseBreached() && policy.getRespondWithin() != null) {
+            long dueAt = clockStart + policy.getRespondWithin().toMillis();
+            Deadline deadline = new Deadline(request.id(), Target.RESPONSE, request.priority(),
+                    policy.getRespondWithin(), dueAt);
+            pending.add(wheel.schedule(deadline, dueAt));
+        }
+        if (!request.resolveBreached() && policy.getResolveWithin() != null) {
+            long dueAt = clockStart + policy.getResolveWithin().toMillis();
+            Deadline deadline = new Deadline(request.id(), Target.RESOLUTION, request.priority(),
+                    policy.getResolveWithin(), dueAt);
+            pending.add(wheel.schedule(deadline, dueAt));
+        }
+        if (!pending.isEmpty()) {
+            timers.put(request.id(), pending);
+        }
+    }
+
+    private void cancel(Long requestId) {
+        List<TimingWheel.Timeout<Deadline>> pending = timers.remove(requestId);
+        if (pending != null) {
+            pending.forEach(wheel::cancel);
+        }
+    }
+
+    /**
+     * Records a breach if the request still misses its target and notifies
+     * the assignee and all managers and admins.
+     */
+    private void report(Deadline deadline) {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", deadline.requestId())
+                .addValue("priority", deadline.priority().name())
+                .addValue("now", now)
+                .addValue("startedBefore", now.minus(deadline.within()));
+
+        List<Breach> breached;
+        try {
+            breached = jdbcTemplate.query(deadline.target() == Target.RESPONSE ? RESPONSE_BREACH : RESOLVE_BREACH,
+                    params, (rs, rowNum) -> new Breach(rs.getString(1), rs.getObject(2, Long.class)));
+        } catch (Exception e) {
+            logger.warn("SLA breach for request #{} not recorded: {}", deadline.requestId(), e.getMessage());
+            return;
+        }
+        if (breached.isEmpty()) {
+            return;
+        }
+
+        Breach breach = breached.get(0);
+        meterRegistry.counter("sla.breaches", "target", deadline.target().name(),
+                "priority", deadline.priority().name()).increment();
+        dataVersions.bump(DataVersionService.Scope.REQUESTS);
+        logger.info("SLA {} target breached for request #{} ({})", deadline.target(), deadline.requestId(),
+                deadline.priority());
+
+        // Long-missed deadlines (first rollout, downtime) are recorded without a flood of escalations
+        if (System.currentTimeMillis() - deadline.dueAt() > properties.getNotifyLateBreachesWithin().toMillis()) {
+            return;
+        }
+
+        String message = breach.subject() + " (" + deadline.priority() + ") was not "
+                + (deadline.target() == Target.RESPONSE ? "started" : "resolved")
+                + " within " + format(deadline.within());
+
+        Set<Long> recipients = new LinkedHashSet<>();
+        if (breach.assigneeId() != null) {
+            recipients.add(breach.assigneeId());
+        }
+        for (UserRole role : List.of(UserRole.MANAGER, UserRole.ADMIN)) {
+            userRepository.findByRole(role).stream()
+                    .filter(user -> Boolean.TRUE.equals(user.getActive()))
+                    .map(User::getId)
+                    .forEach(recipients::add);
+        }
+        for (Long userId : recipients) {
+            try {
+                notificationService.createNotification(userId, "⏱️ SLA Breached", message,
+                        NotificationType.SLA_BREACHED, "MaintenanceRequest", deadline.requestId(), true);
+            } catch (Exception e) {
+                logger.warn("SLA notification to user #{} failed: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    private Map<Long, OpenRequest> load(String sql, MapSqlParameterSource params) {
+        Map<Long, OpenRequest> open = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            String priority = rs.getString(2);
+            String stage = rs.getString(3);
+            open.put(rs.getLong(1), new OpenRequest(rs.getLong(1),
+                    priority != null ? Priority.valueOf(priority) : null,
+                    stage != null ? RequestStage.valueOf(stage) : null,
+                    rs.getObject(4, LocalDateTime.class),
+                    rs.getBoolean(5), rs.getBoolean(6)));
+        });
+        return open;
+    }
+
+    private static String format(Duration duration) {
+        StringBuilder text = new StringBuilder();
+        if (duration.toDays() > 0) {
+            text.append(duration.toDays()).append("d ");
+        }
+        if (duration.toHoursPart() > 0) {
+            text.append(duration.toHoursPart()).append("h ");
+        }
+        if (duration.toMinutesPart() > 0 || text.length() == 0) {
+            text.append(duration.toMinutesPart()).append("m ");
+        }
+        return text.toString().trim();
+    }
+}
@@ -7,6 +7,7 @@ import com.gearguard.dto.TeamMemberDTO;
 import com.gearguard.model.MaintenanceTeam;
 import com.gearguard.model.TeamMember;
 import com.gearguard.model.User;
+import com.gearguard.model.enums.RequestStage;
 import com.gearguard.repository.MaintenanceRequestRepository;
 import com.gearguard.repository.MaintenanceTeamRepository;
 import com.gearguard.repository.TeamMemberRepository;
@@ -15,7 +16,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,14 +40,29 @@ public class TeamService {
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private DataVersionService dataVersions;
+
+    /**
+     * Builds the teams overview from two queries regardless of team count:
+     * one fetch of teams with members and users, one grouped count by team and stage.
+     */
     public List<TeamDTO> getAllTeams() {
-        return teamRepository.findAllWithMembers().stream()
-                .map(this::toTeamDTO)
+        List<MaintenanceTeam> teams = teamRepository.findAllWithMembers();
+
+        Map<Long, Map<RequestStage, Long>> stageCountsByTeam = new HashMap<>();
+        for (Object[] row : requestRepository.countByTeamAndStage()) {
+            stageCountsByTeam.computeIfAbsent((Long) row[0], id -> new EnumMap<>(RequestStage.class))
+                    .put((RequestStage) row[1], (Long) row[2]);
+        }
+
+        return teams.stream()
+                .map(team -> toTeamDTO(team, stageCountsByTeam.getOrDefault(team.getId(), Map.of())))
                 .collect(Collectors.toList());
     }
 
     public TeamDTO getTeamById(Long id) {
-        MaintenanceTeam team = teamRepository.findById(id)
+        MaintenanceTeam team = teamRepository.findByIdWithMembers(id)
                 .orElseThrow(() -> new RuntimeException("Team not found"));
         return toTeamDTO(team);
     }
@@ -61,6 +80,7 @@ public class TeamService {
                 .build();
 
         teamRepository.save(team);
+        dataVersions.bump(DataVersionService.Scope.TEAMS);
 
         // Log the creation
         auditLogService.log("CREATE", "Team", team.getId(), "Created team: " + team.getName());
@@ -84,6 +104,7 @@ public class TeamService {
         }
 
         teamRepository.save(team);
+        dataVersions.bump(DataVersionService.Scope.TEAMS);
 
         // Log the update
         auditLogService.log("UPDATE", "Team", team.getId(), "Updated team: " + team.getName());
@@ -110,6 +131,7 @@ public class TeamService {
 
         // Now delete the team
         teamRepository.delete(team);
+        dataVersions.bump(DataVersionService.Scope.TEAMS, DataVersionService.Scope.REQUESTS);
 
         // Log the deletion
         auditLogService.log("DELETE", "Team", id, "Deleted team: " + teamName);
@@ -140,6 +162,7 @@ public class TeamService {
                 .build();
 
         memberRepository.save(member);
+        dataVersions.bump(DataVersionService.Scope.TEAMS);
         return toMemberDTO(member);
     }
 
@@ -153,6 +176,7 @@ public class TeamService {
         }
 
         memberRepository.delete(member);
+        dataVersions.bump(DataVersionService.Scope.TEAMS);
     }
 
     @Transactional
@@ -174,10 +198,21 @@ public class TeamService {
 
         member.setIsLead(true);
         memberRepository.save(member);
+        dataVersions.bump(DataVersionService.Scope.TEAMS);
         return toMemberDTO(member);
     }
 
     private TeamDTO toTeamDTO(MaintenanceTeam team) {
+        Map<RequestStage, Long> stageCounts = new EnumMap<>(RequestStage.class);
+        if (team.getId() != null) {
+            for (Object[] row : requestRepository.countByStageForTeam(team.getId())) {
+                stageCounts.put((RequestStage) row[0], (Long) row[1]);
+            }
+        }
+        return toTeamDTO(team, stageCounts);
+    }
+
+    private TeamDTO toTeamDTO(MaintenanceTeam team, Map<RequestStage, Long> stageCounts) {
         List<TeamMemberDTO> memberDTOs = team.getMembers() != null
                 ? team.getMembers().stream().map(this::toMemberDTO).collect(Collectors.toList())
                 : List.of();
@@ -190,16 +225,15 @@ public class TeamService {
                         .orElse(null)
                 : null;
 
-        // Get request counts for this team
+        // Request counts: everything not yet repaired counts as outstanding
         int requestsCount = 0;
         int completedCount = 0;
-        try {
-            requestsCount = requestRepository.countByAssignedTeamIdAndStageNot(team.getId(),
-                    com.gearguard.model.enums.RequestStage.REPAIRED);
-            completedCount = requestRepository.countByAssignedTeamIdAndStage(team.getId(),
-                    com.gearguard.model.enums.RequestStage.REPAIRED);
-        } catch (Exception e) {
-            // Repository methods may not exist yet
+        for (Map.Entry<RequestStage, Long> entry : stageCounts.entrySet()) {
+            if (entry.getKey() == RequestStage.REPAIRED) {
+                completedCount += entry.getValue().intValue();
+            } else {
+                requestsCount += entry.getValue().intValue();
+            }
         }
 
         return TeamDTO.builder()
@@ -0,0 +1,150 @@
+package com.gearguard.service;
+
+import com.gearguard.model.enums.RequestStage;
+import com.gearguard.repository.MaintenanceRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory count of open (NEW / IN_PROGRESS) requests per technician.
+ *
+ * Loaded with one grouped query at startup and kept current by the request
+ * service, so routing decisions never issue per-candidate count queries.
+ * A periodic resync corrects drift from writes made by other nodes.
+ *
+ * A count is the committed workload plus the deltas of transactions still
+ * in flight. A resync builds a fresh committed map and swaps it in, replaying
+ * deltas that committed while its query ran, so it never overwrites them. A
+ * commit landing just as the query starts may be counted twice until the
+ * next resync.
+ */
+@Component
+public class TechnicianWorkloadIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TechnicianWorkloadIndex.class);
+
+    public static final Set<RequestStage> OPEN_STAGES = EnumSet.of(RequestStage.NEW, RequestStage.IN_PROGRESS);
+
+    @Autowired
+    private MaintenanceRequestRepository requestRepository;
+
+    private volatile ConcurrentHashMap<Long, AtomicInteger> committed = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    // Deltas committed while a resync query runs; null when none is running. Guarded by this.
+    private List<Map.Entry<Long, Integer>> journal;
+
+    private final Object rebuildLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.assignment.resync-interval-ms:300000}", initialDelayString = "${app.assignment.resync-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                journal = new ArrayList<>();
+            }
+            ConcurrentHashMap<Long, AtomicInteger> fresh = new ConcurrentHashMap<>();
+            try {
+                for (Object[] row : requestRepository.countByAssigneeAndStageIn(OPEN_STAGES)) {
+                    fresh.put((Long) row[0], new AtomicInteger(((Long) row[1]).intValue()));
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    journal = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                journal.forEach(delta -> add(fresh, delta.getKey(), delta.getValue()));
+                journal = null;
+                committed = fresh;
+            }
+            logger.debug("Workload index rebuilt for {} technicians", fresh.size());
+        }
+    }
+
+    public int getOpenCount(Long userId) {
+        return get(committed, userId) + get(pending, userId);
+    }
+
+    /**
+     * Applies a workload delta. Outside a transaction it is committed at once;
+     * inside one it stays pending until the transaction completes, moving into
+     * the committed count on commit and dropped on rollback. Pending deltas
+     * already count towards {@link #getOpenCount}, so concurrent routing sees
+     * them.
+     */
+    public void adjust(Long userId, int delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commit(userId, delta);
+            return;
+        }
+
+        add(pending, userId, delta);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Committed before leaving pending, so readers never see it missing
+                if (status == STATUS_COMMITTED) {
+                    commit(userId, delta);
+                }
+                add(pending, userId, -delta);
+            }
+        });
+    }
+
+    /**
+     * Records a change of assignee and/or open state for a single request.
+     */
+    public void transfer(Long oldAssigneeId, boolean wasOpen, Long newAssigneeId, boolean isOpen) {
+        if (wasOpen) {
+            adjust(oldAssigneeId, -1);
+        }
+        if (isOpen) {
+            adjust(newAssigneeId, 1);
+        }
+    }
+
+    public static boolean isOpen(RequestStage stage) {
+        return stage != null && OPEN_STAGES.contains(stage);
+    }
+
+    private synchronized void commit(Long userId, int delta) {
+        add(committed, userId, delta);
+        if (journal != null) {
+            journal.add(Map.entry(userId, delta));
+        }
+    }
+
+    private static void add(ConcurrentHashMap<Long, AtomicInteger> counts, Long userId, int delta) {
+        counts.computeIfAbsent(userId, id -> new AtomicInteger()).addAndGet(delta);
+    }
+
+    private static int get(ConcurrentHashMap<Long, AtomicInteger> counts, Long userId) {
+        AtomicInteger count = counts.get(userId);
+        return count != null ? count.get() : 0;
+    }
+}
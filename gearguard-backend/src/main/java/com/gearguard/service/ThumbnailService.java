@@ -0,0 +1,250 @@
+package com.gearguard.service;
+
+import com.gearguard.model.Attachment;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Generates small JPEG previews for image and PDF attachments.
+ *
+ * Work runs on the bounded housekeeping pool after the upload commits. The preview is
+ * written next to the stored file as {@code <file>.thumb.jpg}; for
+ * deduplicated blobs that means one preview per distinct content. When the
+ * queue is full the job is dropped and regenerated on the next request.
+ * Content that cannot be decoded gets an empty {@code <file>.thumb.failed}
+ * marker instead, so it is not queued again on every request.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+
+    public static final String SUFFIX = ".thumb.jpg";
+    public static final String FAILED_SUFFIX = ".thumb.failed";
+    private static final Set<String> IMAGE_TYPES = Set.of("image/jpeg", "image/jpg", "image/png", "image/gif", "image/bmp");
+    private static final String PDF_TYPE = "application/pdf";
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${app.thumbnails.size:256}")
+    private int thumbnailSize;
+
+    @Value("${app.thumbnails.quality:0.8}")
+    private float jpegQuality;
+
+    @Autowired
+    @Qualifier("housekeepingExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    // Sources currently queued or being rendered, to avoid duplicate work
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+
+    public boolean isSupported(Attachment attachment) {
+        String type = attachment.getContentType() != null ? attachment.getContentType().toLowerCase() : "";
+        return IMAGE_TYPES.contains(type) || PDF_TYPE.equals(type);
+    }
+
+    /**
+     * Returns the preview file if it has been generated.
+     */
+    public Path findThumbnail(Attachment attachment) {
+        Path thumbnail = thumbnailPath(attachment);
+        return Files.exists(thumbnail) ? thumbnail : null;
+    }
+
+    /**
+     * Whether the stored file is still there to render from.
+     */
+    public boolean hasSource(Attachment attachment) {
+        return Files.exists(blobStore.resolve(attachment));
+    }
+
+    /**
+     * Whether generation was attempted and the content could not be decoded.
+     */
+    public boolean hasFailed(Attachment attachment) {
+        Path source = blobStore.resolve(attachment);
+        return Files.exists(source.resolveSibling(source.getFileName() + FAILED_SUFFIX));
+    }
+
+    /**
+     * Queues preview generation once the current transaction (if any) commits.
+     */
+    public void requestThumbnail(Attachment attachment) {
+        if (!isSupported(attachment)) {
+            return;
+        }
+        Path source = blobStore.resolve(attachment);
+        String contentType = attachment.getContentType().toLowerCase();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(source, contentType);
+                }
+            });
+        } else {
+            submit(source, contentType);
+        }
+    }
+
+    private void submit(Path source, String contentType) {
+        Path target = source.resolveSibling(source.getFileName() + SUFFIX);
+        Path failed = source.resolveSibling(source.getFileName() + FAILED_SUFFIX);
+        if (Files.exists(target) || Files.exists(failed) || !inFlight.add(source)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(source, target, contentType);
+                } catch (Exception e) {
+                    logger.warn("Thumbnail generation failed for {}: {}", source.getFileName(), e.getMessage());
+                    markFailed(failed);
+                } finally {
+                    inFlight.remove(source);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(source);
+            logger.debug("Thumbnail queue full, skipping {}", source.getFileName());
+        }
+    }
+
+    // A source gone by now needs no marker: the endpoint answers 404 for it
+    private void generate(Path source, Path target, String contentType) throws IOException {
+        if (!Files.exists(source)) {
+            return;
+        }
+        BufferedImage rendered = PDF_TYPE.equals(contentType) ? renderPdfFirstPage(source) : readImage(source);
+        if (rendered == null) {
+            throw new IOException("no decodable image or page");
+        }
+
+        BufferedImage thumbnail = scale(rendered);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        writeJpeg(thumbnail, temp);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void markFailed(Path failed) {
+        try {
+            Files.write(failed, new byte[0]);
+        } catch (IOException e) {
+            logger.warn("Could not record thumbnail failure {}: {}", failed.getFileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes with source subsampling so large photos are never held at full
+     * resolution in memory.
+     */
+    private BufferedImage readImage(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (thumbnailSize * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage renderPdfFirstPage(Path source) throws IOException {
+        try (PDDocument document = PDDocument.load(source.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+            if (document.getNumberOfPages() == 0) {
+                return null;
+            }
+            PDRectangle page = document.getPage(0).getCropBox();
+            float longestPoints = Math.max(page.getWidth(), page.getHeight());
+            float dpi = Math.max(10f, 72f * thumbnailSize / longestPoints);
+            return new PDFRenderer(document).renderImageWithDPI(0, dpi, ImageType.RGB);
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        double ratio = Math.min(1.0, (double) thumbnailSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha, flatten transparent images onto white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path thumbnailPath(Attachment attachment) {
+        Path source = blobStore.resolve(attachment);
+        return source.resolveSibling(source.getFileName() + SUFFIX);
+    }
+}
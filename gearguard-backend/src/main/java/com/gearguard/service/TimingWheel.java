@@ -0,0 +1,147 @@
+package com.gearguard.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel: scheduling and cancelling are O(1) and advancing
+ * the clock by one tick only touches the buckets that come due.
+ *
+ * The first level has wheelSize buckets of one tick each; every further level
+ * is created on demand with buckets as wide as the whole level below it, so a
+ * deadline days away costs the same as one a second away. When a coarse bucket
+ * comes due its timeouts are re-inserted and fall into finer levels.
+ */
+public class TimingWheel<T> {
+
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadline;
+        // Deadline rounded up to a whole tick, so nothing fires early
+        private final long expiration;
+        private Set<Timeout<T>> bucket;
+
+        private Timeout(T payload, long deadline, long expiration) {
+            this.payload = payload;
+            this.deadline = deadline;
+            this.expiration = expiration;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+    }
+
+    private static final class Level<T> {
+        final long tickMs;
+        final int wheelSize;
+        final long interval;
+        final List<Set<Timeout<T>>> buckets;
+        long currentTime;
+        Level<T> overflow;
+
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new LinkedHashSet<>());
+            }
+        }
+
+        // False when the timeout is already due
+        boolean add(Timeout<T> timeout) {
+            if (timeout.expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (timeout.expiration < currentTime + interval) {
+                Set<Timeout<T>> bucket = buckets.get((int) Math.floorMod(timeout.expiration / tickMs, (long) wheelSize));
+                bucket.add(timeout);
+                timeout.bucket = bucket;
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timeout);
+        }
+
+        void advance(long now, List<Timeout<T>> drained) {
+            while (now >= currentTime + tickMs) {
+                currentTime += tickMs;
+                Set<Timeout<T>> bucket = buckets.get((int) Math.floorMod(currentTime / tickMs, (long) wheelSize));
+                drained.addAll(bucket);
+                bucket.clear();
+                if (overflow != null) {
+                    overflow.advance(currentTime, drained);
+                }
+            }
+        }
+    }
+
+    private final Level<T> root;
+    private final List<Timeout<T>> due = new ArrayList<>();
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.root = new Level<>(tickMs, wheelSize, startMs);
+    }
+
+    public synchronized Timeout<T> schedule(T payload, long deadlineMs) {
+        long expiration = Math.floorDiv(deadlineMs + root.tickMs - 1, root.tickMs) * root.tickMs;
+        Timeout<T> timeout = new Timeout<>(payload, deadlineMs, expiration);
+        if (!root.add(timeout)) {
+            due.add(timeout);
+        }
+        size++;
+        return timeout;
+    }
+
+    public synchronized void cancel(Timeout<T> timeout) {
+        if (timeout.bucket != null && timeout.bucket.remove(timeout)) {
+            timeout.bucket = null;
+            size--;
+        } else if (due.remove(timeout)) {
+            size--;
+        }
+    }
+
+    /**
+     * Moves the clock to now and returns the payloads whose deadline has
+     * passed, in no particular order. Nothing is returned early; a payload may
+     * come about one tick late.
+     */
+    public synchronized List<T> advance(long nowMs) {
+        List<Timeout<T>> drained = new ArrayList<>();
+        root.advance(nowMs, drained);
+        for (Timeout<T> timeout : drained) {
+            timeout.bucket = null;
+            if (!root.add(timeout)) {
+                due.add(timeout);
+            }
+        }
+
+        List<T> expired = new ArrayList<>(due.size());
+        for (Timeout<T> timeout : due) {
+            expired.add(timeout.payload);
+        }
+        size -= due.size();
+        due.clear();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,53 @@
+package com.gearguard;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Boots the application against a throwaway PostgreSQL container shared by
+ * every subclass (started once, removed when the JVM exits).
+ *
+ * Where Docker is not available, pass -Dtest.datasource.url (plus
+ * -Dtest.datasource.username / -Dtest.datasource.password) to run against an
+ * existing scratch server instead; with neither, the tests are skipped.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    private static final String EXTERNAL_URL = System.getProperty("test.datasource.url");
+
+    private static PostgreSQLContainer<?> container;
+
+    @BeforeAll
+    static void requireDatabase() {
+        Assumptions.assumeTrue(EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable(),
+                "Needs Docker or -Dtest.datasource.url");
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (EXTERNAL_URL != null) {
+            registry.add("spring.datasource.url", () -> EXTERNAL_URL);
+            registry.add("spring.datasource.username", () -> System.getProperty("test.datasource.username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("test.datasource.password", ""));
+            return;
+        }
+        PostgreSQLContainer<?> postgres = start();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static synchronized PostgreSQLContainer<?> start() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+}
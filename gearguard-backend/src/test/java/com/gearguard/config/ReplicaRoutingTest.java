@@ -0,0 +1,186 @@
+package com.gearguard.config;
+
+import com.gearguard.config.WorkloadRoutingDataSource.Workload;
+import com.gearguard.service.DataVersionService;
+import com.gearguard.service.DataVersionService.Scope;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing between a primary and a replica, wired as DataSourceConfig wires
+ * them (lazy proxy over the workload router, read-your-writes listener on
+ * the transaction manager), with two stand-in pools that need no server:
+ * their connections report which pool they came from and answer the replica
+ * lag query with a configurable value.
+ */
+class ReplicaRoutingTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofMinutes(1);
+
+    private final StandInPool primary = new StandInPool("oltp");
+    private final StandInPool replica = new StandInPool("replica-0");
+
+    private ReplicaRouter router;
+    private DataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        router = new ReplicaRouter(List.of(replica), MAX_LAG, READ_YOUR_WRITES_WINDOW, meterRegistry);
+
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        pools.put(Workload.OLTP, primary);
+        pools.put(Workload.REPORTING, new StandInPool("reporting"));
+        pools.put(Workload.BATCH, new StandInPool("batch"));
+        dataSource = new LazyConnectionDataSourceProxy(new WorkloadRoutingDataSource(pools, router));
+
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(new DataSourceConfig().readYourWritesListener(router));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("tech@example.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ReplicaRouter.unpin();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesStayOnThePrimary() {
+        assertEquals("replica-0", poolFor(true));
+        assertEquals("oltp", poolFor(false));
+    }
+
+    @Test
+    void readsStayOnThePrimaryDuringTheReadYourWritesWindow() {
+        assertEquals("oltp", poolFor(false));
+        assertEquals("oltp", poolFor(true), "the writer reads its own write from the primary");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("someone-else@example.com", null, List.of()));
+        assertEquals("replica-0", poolFor(true), "other users keep reading from the replica");
+    }
+
+    @Test
+    void unreachableReplicaIsMarkedDownUntilTheNextCheck() {
+        replica.down = true;
+        assertEquals("oltp", poolFor(true), "falls back when the replica refuses a connection");
+
+        replica.down = false;
+        assertEquals("oltp", poolFor(true), "stays out of rotation until checked again");
+
+        router.checkReplicas();
+        assertEquals("replica-0", poolFor(true));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        replica.lagMs = MAX_LAG.toMillis() + 1;
+        router.checkReplicas();
+        assertEquals("oltp", poolFor(true));
+
+        replica.lagMs = 0;
+        router.checkReplicas();
+        assertEquals("replica-0", poolFor(true));
+    }
+
+    @Test
+    void requestPinnedByConditionalGetNeverReachesTheReplica() throws Exception {
+        DataVersionService dataVersions = mock(DataVersionService.class);
+        when(dataVersions.current(Scope.REQUESTS)).thenReturn(42L);
+        ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(dataVersions, 0, Scope.REQUESTS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/requests");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("oltp", poolFor(true), "tagged from primary versions, so read from the primary");
+        }
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals("replica-0", poolFor(true), "unpinned once the request completes");
+    }
+
+    // Name of the pool the transaction's connection came from
+    private String poolFor(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                return connection.getMetaData().getURL();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Stands in for a PostgreSQL pool: never opens a socket, hands out stub
+     * connections that name the pool, and answers the lag query.
+     */
+    private static class StandInPool extends HikariDataSource {
+        volatile boolean down;
+        volatile long lagMs;
+
+        StandInPool(String name) {
+            setPoolName(name);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused: " + getPoolName());
+            }
+            Connection connection = mock(Connection.class);
+            DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+            when(metaData.getURL()).thenReturn(getPoolName());
+            when(connection.getMetaData()).thenReturn(metaData);
+            when(connection.getAutoCommit()).thenReturn(true);
+
+            Statement statement = mock(Statement.class);
+            ResultSet lag = mock(ResultSet.class);
+            when(connection.createStatement()).thenReturn(statement);
+            when(statement.executeQuery(anyString())).thenReturn(lag);
+            when(lag.next()).thenReturn(true);
+            when(lag.getLong(1)).thenAnswer(invocation -> lagMs);
+            return connection;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.gearguard.service;
+
+import com.gearguard.model.Equipment;
+import com.gearguard.model.MaintenanceTeam;
+import com.gearguard.model.TeamMember;
+import com.gearguard.model.User;
+import com.gearguard.model.enums.Priority;
+import com.gearguard.model.enums.UserRole;
+import com.gearguard.repository.MaintenanceRequestRepository;
+import com.gearguard.repository.TeamMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Routing throughput and workload index consistency, without a database:
+ * the roster query is stubbed, so the numbers measure the engine itself.
+ */
+class AssignmentServiceBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssignmentServiceBenchmarkTest.class);
+
+    private static final int TEAMS = 20;
+    private static final int TECHNICIANS_PER_TEAM = 8;
+    private static final int THREADS = 8;
+    private static final int ASSIGNMENTS_PER_THREAD = 25_000;
+
+    // Well below what the index sustains; catches a regression to per-candidate queries or lock contention
+    private static final double MIN_ASSIGNMENTS_PER_SECOND = 5_000;
+
+    private final MaintenanceRequestRepository requestRepository = mock(MaintenanceRequestRepository.class);
+    // Stub-only: recording millions of invocations would dominate the measurement
+    private final TeamMemberRepository memberRepository = mock(TeamMemberRepository.class, withSettings().stubOnly());
+
+    private TechnicianWorkloadIndex workloadIndex;
+    private AssignmentService assignmentService;
+    private final List<Equipment> equipment = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        workloadIndex = new TechnicianWorkloadIndex();
+        ReflectionTestUtils.setField(workloadIndex, "requestRepository", requestRepository);
+
+        assignmentService = new AssignmentService();
+        ReflectionTestUtils.setField(assignmentService, "memberRepository", memberRepository);
+        ReflectionTestUtils.setField(assignmentService, "workloadIndex", workloadIndex);
+        ReflectionTestUtils.setField(assignmentService, "autoAssignEnabled", true);
+        ReflectionTestUtils.setField(assignmentService, "affinitySlack", 2);
+
+        long userId = 1;
+        for (long teamId = 1; teamId <= TEAMS; teamId++) {
+            MaintenanceTeam team = MaintenanceTeam.builder().id(teamId).name("Team " + teamId).build();
+            List<TeamMember> members = new ArrayList<>();
+            for (int i = 0; i < TECHNICIANS_PER_TEAM; i++) {
+                User technician = User.builder().id(userId++).role(UserRole.TECHNICIAN).build();
+                members.add(TeamMember.builder().team(team).user(technician).isLead(i == 0).build());
+            }
+            when(memberRepository.findByTeamIdWithUser(teamId)).thenReturn(members);
+            equipment.add(Equipment.builder().id(teamId).maintenanceTeam(team)
+                    .defaultTechnician(members.get(1).getUser()).build());
+        }
+    }
+
+    @Test
+    void sustainsThousandsOfAssignmentsPerSecond() throws Exception {
+        Priority[] priorities = Priority.values();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            // Warm-up so the JIT has compiled the routing path
+            runAssignments(pool, 5_000, priorities);
+
+            long started = System.nanoTime();
+            long assigned = runAssignments(pool, ASSIGNMENTS_PER_THREAD, priorities);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            double perSecond = assigned / seconds;
+            logger.info("Assigned {} requests in {}s on {} threads: {}/s",
+                    assigned, String.format("%.2f", seconds), THREADS, String.format("%.0f", perSecond));
+
+            assertTrue(perSecond >= MIN_ASSIGNMENTS_PER_SECOND,
+                    "Expected at least " + MIN_ASSIGNMENTS_PER_SECOND + " assignments/s but got " + perSecond);
+            assertEquals(THREADS * (5_000L + ASSIGNMENTS_PER_THREAD), totalOpen(),
+                    "Every assignment reserves exactly one unit of workload");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rebuildKeepsDeltasCommittedWhileItsQueryRuns() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch deltasApplied = new CountDownLatch(1);
+        // The query sees 3 open requests for technician 1, none of the deltas below
+        when(requestRepository.countByAssigneeAndStageIn(any())).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            deltasApplied.await(5, TimeUnit.SECONDS);
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[] { 1L, 3L });
+            return rows;
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rebuild = pool.submit(workloadIndex::rebuild);
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            workloadIndex.adjust(1L, 1);
+            workloadIndex.adjust(1L, 1);
+            workloadIndex.adjust(1L, -1);
+            deltasApplied.countDown();
+            rebuild.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(4, workloadIndex.getOpenCount(1L));
+    }
+
+    @Test
+    void deltasAreSymmetric() {
+        workloadIndex.adjust(7L, -1);
+        workloadIndex.adjust(7L, 1);
+        assertEquals(0, workloadIndex.getOpenCount(7L));
+    }
+
+    private long runAssignments(ExecutorService pool, int perThread, Priority[] priorities) throws Exception {
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int seed = t;
+            results.add(pool.submit(() -> {
+                int assigned = 0;
+                for (int i = 0; i < perThread; i++) {
+                    Equipment target = equipment.get((seed + i) % equipment.size());
+                    if (assignmentService.assignTechnician(target, priorities[i % priorities.length]).isPresent()) {
+                        assigned++;
+                    }
+                }
+                return assigned;
+            }));
+        }
+        long total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        return total;
+    }
+
+    private long totalOpen() {
+        long total = 0;
+        for (long userId = 1; userId <= (long) TEAMS * TECHNICIANS_PER_TEAM; userId++) {
+            total += workloadIndex.getOpenCount(userId);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,233 @@
+package com.gearguard.service;
+
+import com.gearguard.PostgresIntegrationTest;
+import com.gearguard.dto.BatchRequestOperation;
+import com.gearguard.dto.CreateRequestDTO;
+import com.gearguard.dto.MaintenanceRequestDTO;
+import com.gearguard.exception.ConflictException;
+import com.gearguard.model.Equipment;
+import com.gearguard.model.User;
+import com.gearguard.model.enums.RequestStage;
+import com.gearguard.repository.EquipmentRepository;
+import com.gearguard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent saves against the same base version: edits to different fields
+ * must all survive, edits to the same field must conflict, and the merge
+ * must work when the base was written on another node or by a batch.
+ */
+class MaintenanceRequestServiceConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private MaintenanceRequestService requestService;
+
+    @Autowired
+    private RequestBatchService batchService;
+
+    @Autowired
+    private RequestRevisionHistory revisionHistory;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long equipmentId;
+    private Long userId;
+
+    @BeforeEach
+    void createFixtures() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        userId = userRepository.save(User.builder()
+                .username("writer-" + suffix)
+                .password("x")
+                .fullName("Concurrent Writer")
+                .build()).getId();
+        equipmentId = equipmentRepository.save(Equipment.builder()
+                .name("Press " + suffix)
+                .build()).getId();
+    }
+
+    @Test
+    void disjointFieldEditsFromOneBaseAllSurvive() throws Exception {
+        MaintenanceRequestDTO base = create();
+        List<Consumer<CreateRequestDTO>> edits = List.of(
+                dto -> dto.setSubject("subject edited"),
+                dto -> dto.setDescription("description edited"),
+                dto -> dto.setNotes("notes edited"),
+                dto -> dto.setEstimatedDuration(42));
+
+        List<Callable<Boolean>> writers = new ArrayList<>();
+        for (Consumer<CreateRequestDTO> edit : edits) {
+            writers.add(() -> {
+                CreateRequestDTO dto = baseEdit();
+                edit.accept(dto);
+                return save(base, dto);
+            });
+        }
+        List<Boolean> results = runTogether(writers);
+
+        assertTrue(results.stream().allMatch(Boolean::booleanValue), "every disjoint edit merges");
+        MaintenanceRequestDTO merged = requestService.getRequestById(base.getId());
+        assertEquals("subject edited", merged.getSubject());
+        assertEquals("description edited", merged.getDescription());
+        assertEquals("notes edited", merged.getNotes());
+        assertEquals(42, merged.getEstimatedDuration());
+        assertEquals(base.getVersion() + edits.size(), merged.getVersion());
+    }
+
+    @Test
+    void sameFieldEditsFromOneBaseLetExactlyOneWin() throws Exception {
+        MaintenanceRequestDTO base = create();
+
+        List<Callable<Boolean>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            String subject = "subject " + i;
+            writers.add(() -> {
+                CreateRequestDTO dto = baseEdit();
+                dto.setSubject(subject);
+                return save(base, dto);
+            });
+        }
+        List<Boolean> results = runTogether(writers);
+
+        assertEquals(1, results.stream().filter(Boolean::booleanValue).count(), "one writer wins");
+        assertEquals(base.getVersion() + 1, requestService.getRequestById(base.getId()).getVersion());
+    }
+
+    @Test
+    void mergesAgainstBaseWrittenOnAnotherNode() {
+        MaintenanceRequestDTO base = create();
+        CreateRequestDTO first = baseEdit();
+        first.setSubject("subject edited");
+        requestService.updateRequest(base.getId(), first, base.getVersion());
+
+        // A node that never saw the base version has nothing in its local cache
+        clearLocalRevisions();
+
+        CreateRequestDTO second = baseEdit();
+        second.setNotes("notes edited");
+        MaintenanceRequestDTO merged = requestService.updateRequest(base.getId(), second, base.getVersion());
+
+        assertEquals("subject edited", merged.getSubject());
+        assertEquals("notes edited", merged.getNotes());
+    }
+
+    @Test
+    void mergesAgainstBaseWrittenByABatchOnAnotherNode() {
+        MaintenanceRequestDTO created = create();
+
+        // Stage and assignee in one batch: one new version, stored as a revision
+        BatchRequestOperation batch = new BatchRequestOperation();
+        batch.setIds(List.of(created.getId()));
+        batch.setStage(RequestStage.IN_PROGRESS);
+        batch.setAssignedToId(userId);
+        batchService.applyBatch(batch);
+        MaintenanceRequestDTO base = requestService.getRequestById(created.getId());
+        assertEquals(created.getVersion() + 1, base.getVersion(), "a batch bumps the version once");
+
+        // Someone else saves on top of the batch's version
+        CreateRequestDTO other = editOf(base);
+        other.setNotes("notes edited");
+        requestService.updateRequest(base.getId(), other, base.getVersion());
+
+        // The stale save lands on a node that never cached the batch's version
+        clearLocalRevisions();
+        CreateRequestDTO mine = editOf(base);
+        mine.setSubject("subject edited");
+        MaintenanceRequestDTO merged = requestService.updateRequest(base.getId(), mine, base.getVersion());
+
+        assertEquals("subject edited", merged.getSubject());
+        assertEquals("notes edited", merged.getNotes());
+        assertEquals(RequestStage.IN_PROGRESS, merged.getStage());
+        assertEquals(userId, merged.getAssignedToId());
+    }
+
+    private MaintenanceRequestDTO create() {
+        return requestService.createRequest(baseEdit(), userId);
+    }
+
+    private CreateRequestDTO baseEdit() {
+        CreateRequestDTO dto = new CreateRequestDTO();
+        dto.setSubject("subject");
+        dto.setDescription("description");
+        dto.setNotes("notes");
+        dto.setEstimatedDuration(1);
+        dto.setEquipmentId(equipmentId);
+        return dto;
+    }
+
+    // The fields of the request as the client loaded them, assignee included
+    private CreateRequestDTO editOf(MaintenanceRequestDTO loaded) {
+        CreateRequestDTO dto = baseEdit();
+        dto.setAssignedToId(loaded.getAssignedToId());
+        dto.setAssignedTeamId(loaded.getAssignedTeamId());
+        return dto;
+    }
+
+    private void clearLocalRevisions() {
+        ((Map<?, ?>) ReflectionTestUtils.getField(revisionHistory, "revisions")).clear();
+    }
+
+    /**
+     * Saves against the base version, retrying when another writer committed
+     * between our read and flush. Returns false on a field conflict.
+     */
+    private boolean save(MaintenanceRequestDTO base, CreateRequestDTO dto) {
+        while (true) {
+            try {
+                requestService.updateRequest(base.getId(), dto, base.getVersion());
+                return true;
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Lost the flush race; the retry merges on top of the winner
+            } catch (ConflictException e) {
+                return false;
+            }
+        }
+    }
+
+    private static <T> List<T> runTogether(List<Callable<T>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.gearguard.service;
+
+import com.gearguard.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Password checks per second per core through the hashing pool, at the
+ * configured BCrypt strength. Callers outnumber the pool as in a login storm,
+ * so the figure includes the hand-off and queueing, not just BCrypt.
+ */
+class PasswordHashingServiceBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingServiceBenchmarkTest.class);
+
+    private static final int BCRYPT_STRENGTH = 10;
+    private static final int POOL_SIZE = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final int CALLERS = POOL_SIZE * 4;
+    private static final int LOGINS_PER_CALLER = 8;
+
+    // Strength 10 manages roughly 10-20 checks/s on one core; this only catches
+    // an accidental cost increase or the pool serializing onto one thread
+    private static final double MIN_LOGINS_PER_SECOND_PER_CORE = 3;
+
+    private ThreadPoolTaskExecutor passwordExecutor;
+    private PasswordHashingService hashingService;
+
+    @BeforeEach
+    void setUp() {
+        passwordExecutor = new ThreadPoolTaskExecutor();
+        passwordExecutor.setCorePoolSize(POOL_SIZE);
+        passwordExecutor.setMaxPoolSize(POOL_SIZE);
+        // Deep enough that no caller is shed; shedding is not what is measured here
+        passwordExecutor.setQueueCapacity(CALLERS);
+        passwordExecutor.initialize();
+
+        hashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(hashingService, "passwordEncoder", new BCryptPasswordEncoder(BCRYPT_STRENGTH));
+        ReflectionTestUtils.setField(hashingService, "passwordExecutor", passwordExecutor);
+        ReflectionTestUtils.setField(hashingService, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(hashingService, "retryAfterSeconds", 2);
+        ReflectionTestUtils.invokeMethod(hashingService, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordExecutor.shutdown();
+    }
+
+    @Test
+    void measuresLoginsPerSecondPerCore() throws Exception {
+        String hash = hashingService.encode("correct horse battery staple");
+        assertTrue(hashingService.matches("correct horse battery staple", hash));
+        assertFalse(hashingService.matches("wrong", hash));
+        assertFalse(hashingService.matches("unknown user", null));
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            // Warm-up so the JIT has compiled BCrypt
+            runLogins(callers, hash, 2);
+
+            long started = System.nanoTime();
+            long logins = runLogins(callers, hash, LOGINS_PER_CALLER);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            double perSecond = logins / seconds;
+            double perCore = perSecond / POOL_SIZE;
+            logger.info("Checked {} passwords in {}s on {} hashing threads: {}/s, {}/s per core",
+                    logins, String.format("%.2f", seconds), POOL_SIZE, String.format("%.1f", perSecond),
+                    String.format("%.1f", perCore));
+
+            assertTrue(perCore >= MIN_LOGINS_PER_SECOND_PER_CORE,
+                    "Expected at least " + MIN_LOGINS_PER_SECOND_PER_CORE + " logins/s per core but got " + perCore);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shedsCallersBeyondThePoolAndQueue() throws Exception {
+        passwordExecutor.shutdown();
+        passwordExecutor = new ThreadPoolTaskExecutor();
+        passwordExecutor.setCorePoolSize(1);
+        passwordExecutor.setMaxPoolSize(1);
+        passwordExecutor.setQueueCapacity(1);
+        passwordExecutor.initialize();
+        ReflectionTestUtils.setField(hashingService, "passwordExecutor", passwordExecutor);
+        String hash = new BCryptPasswordEncoder(BCRYPT_STRENGTH).encode("secret");
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> {
+                    try {
+                        hashingService.matches("secret", hash);
+                        return false;
+                    } catch (ServiceBusyException e) {
+                        return true;
+                    }
+                }));
+            }
+            long shed = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    shed++;
+                }
+            }
+            assertTrue(shed > 0, "callers beyond one running and one queued are rejected");
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private long runLogins(ExecutorService callers, String hash, int perCaller) throws Exception {
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int c = 0; c < CALLERS; c++) {
+            results.add(callers.submit(() -> {
+                int ok = 0;
+                for (int i = 0; i < perCaller; i++) {
+                    if (hashingService.matches("correct horse battery staple", hash)) {
+                        ok++;
+                    }
+                }
+                return ok;
+            }));
+        }
+        long total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,136 @@
+package com.gearguard.service;
+
+import com.gearguard.PostgresIntegrationTest;
+import com.gearguard.dto.CreateRequestDTO;
+import com.gearguard.model.Equipment;
+import com.gearguard.model.User;
+import com.gearguard.repository.EquipmentRepository;
+import com.gearguard.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Deadline changes travel between nodes over LISTEN/NOTIFY: this node
+ * announces its own commits and schedules the requests other nodes announce.
+ */
+class SlaMonitorChangeChannelTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SlaMonitor slaMonitor;
+
+    @Autowired
+    private MaintenanceRequestService requestService;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private Long equipmentId;
+    private Long userId;
+
+    @BeforeEach
+    void createFixtures() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        userId = userRepository.save(User.builder()
+                .username("sla-" + suffix)
+                .password("x")
+                .fullName("SLA Requester")
+                .build()).getId();
+        equipmentId = equipmentRepository.save(Equipment.builder()
+                .name("Lathe " + suffix)
+                .build()).getId();
+    }
+
+    @Test
+    void committedChangesAreAnnouncedToOtherNodes() throws Exception {
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + SlaMonitor.CHANNEL);
+            }
+            Long id = create();
+
+            List<String> payloads = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (payloads.stream().noneMatch(payload -> payload.endsWith(":" + id))
+                    && System.currentTimeMillis() < deadline) {
+                PGNotification[] received = connection.unwrap(PGConnection.class).getNotifications(500);
+                for (PGNotification notification : received) {
+                    payloads.add(notification.getParameter());
+                }
+            }
+            assertTrue(payloads.stream().anyMatch(payload -> payload.endsWith(":" + id)),
+                    "request #" + id + " announced, got " + payloads);
+        }
+    }
+
+    @Test
+    void requestsAnnouncedByAnotherNodeAreScheduled() {
+        Long id = create();
+        await(() -> timers().containsKey(id), "scheduled by the node that wrote it");
+
+        // As if the write had happened on another node
+        synchronized (timers()) {
+            timers().remove(id);
+        }
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class,
+                SlaMonitor.CHANNEL, "other-node:" + id);
+
+        await(() -> timers().containsKey(id), "scheduled from the other node's notification");
+    }
+
+    private Long create() {
+        CreateRequestDTO dto = new CreateRequestDTO();
+        dto.setSubject("SLA channel");
+        dto.setEquipmentId(equipmentId);
+        return requestService.createRequest(dto, userId).getId();
+    }
+
+    private Map<?, ?> timers() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(slaMonitor, "timers");
+    }
+
+    private void await(BooleanSupplier condition, String message) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!isTrue(condition) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertTrue(isTrue(condition), message);
+    }
+
+    private boolean isTrue(BooleanSupplier condition) {
+        synchronized (timers()) {
+            return condition.getAsBoolean();
+        }
+    }
+}
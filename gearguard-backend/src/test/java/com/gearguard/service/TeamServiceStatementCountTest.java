@@ -0,0 +1,99 @@
+package com.gearguard.service;
+
+import com.gearguard.PostgresIntegrationTest;
+import com.gearguard.dto.TeamDTO;
+import com.gearguard.model.MaintenanceTeam;
+import com.gearguard.model.TeamMember;
+import com.gearguard.model.User;
+import com.gearguard.repository.MaintenanceTeamRepository;
+import com.gearguard.repository.TeamMemberRepository;
+import com.gearguard.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the team list against N+1 loading: the teams with their members
+ * and users come from one query and the request counts from another, however
+ * many teams and members there are.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TeamServiceStatementCountTest extends PostgresIntegrationTest {
+
+    private static final long EXPECTED_STATEMENTS = 2;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private MaintenanceTeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository memberRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getAllTeamsIssuesAFixedNumberOfStatements() {
+        // 3 teams of 2 members, then 20 more teams of 5 (on top of whatever the database already holds)
+        createTeams(3, 2);
+        long small = statementsForGetAllTeams();
+
+        createTeams(20, 5);
+        long large = statementsForGetAllTeams();
+
+        assertEquals(EXPECTED_STATEMENTS, small, "statements for a few teams");
+        assertEquals(small, large, "statements must not grow with teams or members");
+    }
+
+    /**
+     * Fewest statements over a few runs: the counters are shared by the whole
+     * session factory, so a scheduled job can add to a single run.
+     */
+    private long statementsForGetAllTeams() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled(), "Hibernate statistics are enabled");
+        long fewest = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            statistics.clear();
+            List<TeamDTO> teams = teamService.getAllTeams();
+            assertTrue(teams.stream().allMatch(team -> team.getMembers() != null), "members are mapped");
+            fewest = Math.min(fewest, statistics.getPrepareStatementCount());
+        }
+        return fewest;
+    }
+
+    private void createTeams(int teams, int membersPerTeam) {
+        for (int t = 0; t < teams; t++) {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            MaintenanceTeam team = teamRepository.save(MaintenanceTeam.builder()
+                    .name("Team " + suffix)
+                    .build());
+            for (int m = 0; m < membersPerTeam; m++) {
+                User user = userRepository.save(User.builder()
+                        .username("member-" + suffix + "-" + m)
+                        .password("x")
+                        .fullName("Member " + m)
+                        .build());
+                memberRepository.save(TeamMember.builder()
+                        .team(team)
+                        .user(user)
+                        .isLead(m == 0)
+                        .build());
+            }
+        }
+    }
+}
@@ -30,11 +30,14 @@ api.interceptors.response.use(
 
 export default api;
 
+// Conditional-update header so the server can detect concurrent edits
+export const ifMatch = (version) => (version != null ? { headers: { 'If-Match': `"${version}"` } } : undefined);
+
 export const equipmentApi = {
     getAll: () => api.get('/equipment'),
     getById: (id) => api.get(`/equipment/${id}`),
     create: (data) => api.post('/equipment', data),
-    update: (id, data) => api.put(`/equipment/${id}`, data),
+    update: (id, data, version) => api.put(`/equipment/${id}`, data, ifMatch(version)),
     delete: (id) => api.delete(`/equipment/${id}`),
     getRequestCount: (id) => api.get(`/equipment/${id}/requests/count`)
 };
@@ -55,8 +58,8 @@ export const requestApi = {
     getCalendar: (start, end) => api.get('/requests/calendar', { params: { start, end } }),
     getById: (id) => api.get(`/requests/${id}`),
     create: (data) => api.post('/requests', data),
-    update: (id, data) => api.put(`/requests/${id}`, data),
-    updateStage: (id, stage) => api.patch(`/requests/${id}/stage`, { stage }),
+    update: (id, data, version) => api.put(`/requests/${id}`, data, ifMatch(version)),
+    updateStage: (id, stage, version) => api.patch(`/requests/${id}/stage`, { stage }, ifMatch(version)),
     delete: (id) => api.delete(`/requests/${id}`)
 };
 
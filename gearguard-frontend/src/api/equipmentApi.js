@@ -1,10 +1,10 @@
-import api from './axios';
+import api, { ifMatch } from './axios';
 
 export const equipmentApi = {
     getAll: (params = {}) => api.get('/equipment', { params }),
     getById: (id) => api.get(`/equipment/${id}`),
     create: (data) => api.post('/equipment', data),
-    update: (id, data) => api.put(`/equipment/${id}`, data),
+    update: (id, data, version) => api.put(`/equipment/${id}`, data, ifMatch(version)),
     delete: (id) => api.delete(`/equipment/${id}`),
     getCategories: () => api.get('/equipment/categories'),
     getStatuses: () => api.get('/equipment/statuses'),
@@ -1,11 +1,11 @@
-import api from './axios';
+import api, { ifMatch } from './axios';
 
 export const requestApi = {
     getAll: () => api.get('/requests'),
     getById: (id) => api.get(`/requests/${id}`),
     create: (data) => api.post('/requests', data),
-    update: (id, data) => api.put(`/requests/${id}`, data),
-    updateStage: (id, stage) => api.patch(`/requests/${id}/stage`, { stage }),
+    update: (id, data, version) => api.put(`/requests/${id}`, data, ifMatch(version)),
+    updateStage: (id, stage, version) => api.patch(`/requests/${id}/stage`, { stage }, ifMatch(version)),
     delete: (id) => api.delete(`/requests/${id}`),
     getByStage: (stage) => api.get(`/requests/stage/${stage}`),
     getByTeam: (teamId) => api.get(`/requests/team/${teamId}`),
@@ -2,16 +2,22 @@ import { useState, useEffect, useRef } from 'react';
 import { motion, AnimatePresence } from 'framer-motion';
 import { Bell, Check, CheckCheck, Clock, Wrench, AlertTriangle, Users, X } from 'lucide-react';
 import { notificationApi } from '../../api/notificationApi';
+import { useAuth } from '../../context/AuthContext';
 
 function NotificationDropdown() {
+    const { takeBootstrap } = useAuth();
+    const [preloadedCount] = useState(() => takeBootstrap('unreadNotifications'));
     const [isOpen, setIsOpen] = useState(false);
     const [notifications, setNotifications] = useState([]);
-    const [unreadCount, setUnreadCount] = useState(0);
+    const [unreadCount, setUnreadCount] = useState(preloadedCount ?? 0);
     const [loading, setLoading] = useState(false);
     const dropdownRef = useRef(null);
 
     useEffect(() => {
-        fetchUnreadCount();
+        // The app-start payload already carried the count
+        if (preloadedCount == null) {
+            fetchUnreadCount();
+        }
         const interval = setInterval(fetchUnreadCount, 30000);
         return () => clearInterval(interval);
     }, []);
@@ -80,6 +86,7 @@ function NotificationDropdown() {
             REQUEST_UPDATED: <Clock className="w-4 h-4 text-amber-500" />,
             REQUEST_COMPLETED: <Check className="w-4 h-4 text-green-500" />,
             REQUEST_OVERDUE: <AlertTriangle className="w-4 h-4 text-red-500" />,
+            SLA_BREACHED: <Clock className="w-4 h-4 text-red-500" />,
             TEAM_ADDED: <Users className="w-4 h-4 text-purple-500" />,
             INFO: <Bell className="w-4 h-4 text-gray-500" />,
             WARNING: <AlertTriangle className="w-4 h-4 text-amber-500" />,
@@ -95,6 +102,7 @@ function NotificationDropdown() {
             REQUEST_UPDATED: 'bg-amber-100 dark:bg-amber-900/30',
             REQUEST_COMPLETED: 'bg-green-100 dark:bg-green-900/30',
             REQUEST_OVERDUE: 'bg-red-100 dark:bg-red-900/30',
+            SLA_BREACHED: 'bg-red-100 dark:bg-red-900/30',
             TEAM_ADDED: 'bg-purple-100 dark:bg-purple-900/30',
             INFO: 'bg-gray-100 dark:bg-gray-700',
             WARNING: 'bg-amber-100 dark:bg-amber-900/30',
@@ -1,4 +1,4 @@
-import { createContext, useContext, useState, useEffect } from 'react';
+import { createContext, useContext, useState, useEffect, useRef } from 'react';
 import api from '../api/axios';
 
 const AuthContext = createContext(null);
@@ -15,14 +15,20 @@ export const AuthProvider = ({ children }) => {
     const [user, setUser] = useState(null);
     const [token, setToken] = useState(localStorage.getItem('token'));
     const [loading, setLoading] = useState(true);
+    // App-start data (teams, departments, unread count, ...) loaded with the user
+    const [bootstrap, setBootstrap] = useState(null);
+    const takenParts = useRef(new Set());
 
     useEffect(() => {
         const initAuth = async () => {
             if (token) {
                 try {
-                    // Verify token and get current user from backend
-                    const response = await api.get('/auth/me');
-                    setUser(response.data);
+                    // Verify token and load the user with the rest of the app-start data in one call
+                    const response = await api.get('/bootstrap', { params: { widgets: 'summary' } });
+                    const { user: currentUser, ...startData } = response.data;
+                    setUser(currentUser);
+                    takenParts.current.clear();
+                    setBootstrap(startData);
                 } catch (error) {
                     console.error('Auth verification failed:', error);
                     localStorage.removeItem('token');
@@ -50,10 +56,19 @@ export const AuthProvider = ({ children }) => {
         }
     };
 
+    // Start-up data serves the first screen that asks for each part; screens
+    // opened later fetch (and revalidate) their own copy so they see changes
+    const takeBootstrap = (part) => {
+        if (bootstrap?.[part] == null || takenParts.current.has(part)) return null;
+        takenParts.current.add(part);
+        return bootstrap[part];
+    };
+
     const logout = () => {
         localStorage.removeItem('token');
         setToken(null);
         setUser(null);
+        setBootstrap(null);
     };
 
     const setupAdmin = async (data) => {
@@ -120,6 +135,8 @@ export const AuthProvider = ({ children }) => {
         user,
         token,
         loading,
+        bootstrap,
+        takeBootstrap,
         login,
         logout,
         setupAdmin,
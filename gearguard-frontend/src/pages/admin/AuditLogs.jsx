@@ -6,20 +6,37 @@ import api from '../../api/axios';
 function AuditLogs() {
     const [logs, setLogs] = useState([]);
     const [loading, setLoading] = useState(true);
+    // cursors[i] is the cursor that loads page i (null for the first page)
+    const [cursors, setCursors] = useState([null]);
     const [page, setPage] = useState(0);
-    const [totalPages, setTotalPages] = useState(0);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [total, setTotal] = useState(null);
+    const [totalCapped, setTotalCapped] = useState(false);
+    const [actionFilter, setActionFilter] = useState('');
+    const [entityTypeFilter, setEntityTypeFilter] = useState('');
     const [expandedLog, setExpandedLog] = useState(null);
 
     useEffect(() => {
         fetchLogs();
-    }, [page]);
+    }, [page, cursors]);
 
     const fetchLogs = async () => {
         setLoading(true);
         try {
-            const response = await api.get('/audit-logs', { params: { page, size: 30 } });
+            const params = { size: 30 };
+            if (cursors[page]) params.cursor = cursors[page];
+            if (actionFilter) params.action = actionFilter;
+            if (entityTypeFilter) params.entityType = entityTypeFilter;
+            // Counting is only needed once per filter
+            if (page > 0) params.count = 'none';
+
+            const response = await api.get('/audit-logs', { params });
             setLogs(response.data.logs || []);
-            setTotalPages(response.data.totalPages || 0);
+            setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
+            if (page === 0) {
+                setTotal(response.data.totalElements ?? null);
+                setTotalCapped(response.data.totalCapped || false);
+            }
         } catch (error) {
             console.error('Failed to load audit logs', error);
         } finally {
@@ -27,6 +44,17 @@ function AuditLogs() {
         }
     };
 
+    const applyFilters = () => {
+        setPage(0);
+        setCursors([null]);
+    };
+
+    const goNext = () => {
+        if (!nextCursor) return;
+        setCursors([...cursors.slice(0, page + 1), nextCursor]);
+        setPage(page + 1);
+    };
+
     const getActionColor = (action) => {
         const colors = {
             CREATE: 'bg-green-100 text-green-700 dark:bg-green-900/30 dark:text-green-400',
@@ -62,6 +90,37 @@ function AuditLogs() {
                 </button>
             </div>
 
+            <div className="card flex flex-wrap items-center gap-3">
+                <Filter className="w-4 h-4 text-gray-500" />
+                <select
+                    value={actionFilter}
+                    onChange={(e) => setActionFilter(e.target.value)}
+                    className="input-field w-auto"
+                >
+                    <option value="">All actions</option>
+                    {['CREATE', 'UPDATE', 'DELETE', 'UPLOAD', 'LOGIN', 'LOGOUT'].map((action) => (
+                        <option key={action} value={action}>{action}</option>
+                    ))}
+                </select>
+                <div className="relative">
+                    <Search className="w-4 h-4 absolute left-3 top-1/2 -translate-y-1/2 text-gray-400" />
+                    <input
+                        type="text"
+                        value={entityTypeFilter}
+                        onChange={(e) => setEntityTypeFilter(e.target.value)}
+                        onKeyDown={(e) => e.key === 'Enter' && applyFilters()}
+                        placeholder="Entity type"
+                        className="input-field pl-9 w-48"
+                    />
+                </div>
+                <button onClick={applyFilters} className="btn-secondary text-sm">Apply</button>
+                {total !== null && (
+                    <span className="ml-auto text-sm text-gray-500 dark:text-slate-400">
+                        {totalCapped ? `${total.toLocaleString()}+` : `~${total.toLocaleString()}`} entries
+                    </span>
+                )}
+            </div>
+
             <div className="card">
                 {loading ? (
                     <div className="flex justify-center py-12">
@@ -142,7 +201,7 @@ function AuditLogs() {
                         </div>
 
                         {/* Pagination */}
-                        {totalPages > 1 && (
+                        {(page > 0 || nextCursor) && (
                             <div className="flex items-center justify-center gap-2 mt-6">
                                 <button
                                     onClick={() => setPage(Math.max(0, page - 1))}
@@ -152,11 +211,11 @@ function AuditLogs() {
                                     Previous
                                 </button>
                                 <span className="text-sm text-gray-600 dark:text-slate-400">
-                                    Page {page + 1} of {totalPages}
+                                    Page {page + 1}
                                 </span>
                                 <button
-                                    onClick={() => setPage(Math.min(totalPages - 1, page + 1))}
-                                    disabled={page >= totalPages - 1}
+                                    onClick={goNext}
+                                    disabled={!nextCursor}
                                     className="btn-secondary px-3 py-1 text-sm disabled:opacity-50"
                                 >
                                     Next
@@ -7,7 +7,7 @@ import api from '../../api/axios';
 import toast from 'react-hot-toast';
 
 function AdminDashboard() {
-    const { user, createUser } = useAuth();
+    const { user, createUser, takeBootstrap } = useAuth();
     const navigate = useNavigate();
     const [showCreateUser, setShowCreateUser] = useState(false);
     const [showPassword, setShowPassword] = useState(false);
@@ -36,10 +36,12 @@ function AdminDashboard() {
 
     const fetchStats = async () => {
         try {
+            const preloadedDashboard = takeBootstrap('dashboard');
+            const preloadedTeams = takeBootstrap('teams');
             const [dashboardRes, usersRes, teamsRes, equipmentRes] = await Promise.all([
-                api.get('/dashboard'),
+                preloadedDashboard ? { data: preloadedDashboard } : api.get('/dashboard', { params: { widgets: 'summary' } }),
                 api.get('/auth/users'),
-                api.get('/teams'),
+                preloadedTeams ? { data: preloadedTeams } : api.get('/teams'),
                 api.get('/equipment')
             ]);
 
@@ -6,7 +6,7 @@ import api from '../../api/axios';
 import toast from 'react-hot-toast';
 
 function ManagerDashboard() {
-    const { user } = useAuth();
+    const { user, takeBootstrap } = useAuth();
     const [loading, setLoading] = useState(true);
     const [stats, setStats] = useState({
         teamMembers: 0,
@@ -31,9 +31,11 @@ function ManagerDashboard() {
 
     const fetchData = async () => {
         try {
+            const preloadedDashboard = takeBootstrap('dashboard');
+            const preloadedTeams = takeBootstrap('teams');
             const [dashboardRes, teamsRes, requestsRes] = await Promise.all([
-                api.get('/dashboard'),
-                api.get('/teams'),
+                preloadedDashboard ? { data: preloadedDashboard } : api.get('/dashboard', { params: { widgets: 'summary' } }),
+                preloadedTeams ? { data: preloadedTeams } : api.get('/teams'),
                 api.get('/requests')
             ]);
 
@@ -7,12 +7,14 @@ import { motion } from 'framer-motion';
 import toast from 'react-hot-toast';
 import { requestApi } from '../../api/requestApi';
 import api from '../../api/axios';
+import { useAuth } from '../../context/AuthContext';
 import 'react-big-calendar/lib/css/react-big-calendar.css';
 
 const locales = { 'en-US': enUS };
 const localizer = dateFnsLocalizer({ format, parse, startOfWeek, getDay, locales });
 
 function Calendar() {
+    const { takeBootstrap } = useAuth();
     const [currentDate, setCurrentDate] = useState(new Date());
     const [currentView, setCurrentView] = useState('month');
     const [events, setEvents] = useState([]);
@@ -34,9 +36,10 @@ function Calendar() {
 
     const fetchData = async () => {
         try {
+            const preloadedTeams = takeBootstrap('teams');
             const [requestsRes, teamsRes, equipmentRes, usersRes] = await Promise.all([
                 requestApi.getAll(),
-                api.get('/teams'),
+                preloadedTeams ? { data: preloadedTeams } : api.get('/teams'),
                 api.get('/equipment'),
                 api.get('/auth/users')
             ]);
@@ -30,18 +30,23 @@ function Dashboard() {
 
     const fetchDashboardData = async () => {
         try {
-            const response = await api.get('/dashboard');
+            const response = await api.get('/dashboard', {
+                params: { widgets: 'summary,teams,status,activity' }
+            });
             const data = response.data;
 
-            setStats({
-                totalEquipment: data.totalEquipment,
-                activeRequests: data.activeRequests,
-                completedToday: data.completedToday,
-                overdueRequests: data.overdueRequests
-            });
-            setRequestsByTeam(data.requestsByTeam || []);
-            setRequestsByStatus(data.requestsByStatus || []);
-            setRecentActivity(data.recentActivity || []);
+            // A widget missing from the response timed out; keep showing its last value
+            if (data.totalEquipment != null) {
+                setStats({
+                    totalEquipment: data.totalEquipment,
+                    activeRequests: data.activeRequests,
+                    completedToday: data.completedToday,
+                    overdueRequests: data.overdueRequests
+                });
+            }
+            if (data.requestsByTeam) setRequestsByTeam(data.requestsByTeam);
+            if (data.requestsByStatus) setRequestsByStatus(data.requestsByStatus);
+            if (data.recentActivity) setRecentActivity(data.recentActivity);
             setLastUpdated(new Date());
         } catch (error) {
             console.error('Failed to load dashboard data', error);
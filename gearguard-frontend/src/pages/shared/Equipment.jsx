@@ -4,8 +4,10 @@ import { Plus, Search, Filter, Wrench, Edit2, Trash2, Eye, EyeOff, AlertCircle,
 import toast from 'react-hot-toast';
 import equipmentApi from '../../api/equipmentApi';
 import api from '../../api/axios';
+import { useAuth } from '../../context/AuthContext';
 
 function Equipment() {
+    const { takeBootstrap } = useAuth();
     const [equipment, setEquipment] = useState([]);
     const [loading, setLoading] = useState(true);
     const [searchTerm, setSearchTerm] = useState('');
@@ -27,7 +29,6 @@ function Equipment() {
         category: '',
         location: '',
         status: 'ACTIVE',
-        healthScore: 100,
         notes: '',
         departmentId: '',
         maintenanceTeamId: '',
@@ -58,6 +59,11 @@ function Equipment() {
     };
 
     const fetchCategories = async () => {
+        const preloaded = takeBootstrap('equipmentCategories');
+        if (preloaded) {
+            setCategories(preloaded);
+            return;
+        }
         try {
             const response = await equipmentApi.getCategories();
             setCategories(response.data);
@@ -67,6 +73,11 @@ function Equipment() {
     };
 
     const fetchDepartments = async () => {
+        const preloaded = takeBootstrap('departments');
+        if (preloaded) {
+            setDepartments(preloaded);
+            return;
+        }
         try {
             const response = await api.get('/departments');
             setDepartments(response.data);
@@ -76,6 +87,11 @@ function Equipment() {
     };
 
     const fetchTeams = async () => {
+        const preloaded = takeBootstrap('teams');
+        if (preloaded) {
+            setTeams(preloaded);
+            return;
+        }
         try {
             const response = await api.get('/teams');
             setTeams(response.data);
@@ -104,7 +120,7 @@ function Equipment() {
             };
 
             if (editingEquipment) {
-                await equipmentApi.update(editingEquipment.id, submitData);
+                await equipmentApi.update(editingEquipment.id, submitData, editingEquipment.version);
                 toast.success('Equipment updated');
             } else {
                 await equipmentApi.create(submitData);
@@ -115,6 +131,9 @@ function Equipment() {
             fetchEquipment();
         } catch (error) {
             toast.error(error.response?.data?.message || 'Operation failed');
+            if (error.response?.status === 412) {
+                fetchEquipment();
+            }
         }
     };
 
@@ -126,7 +145,6 @@ function Equipment() {
             category: item.category || '',
             location: item.location || '',
             status: item.status,
-            healthScore: item.healthScore,
             notes: item.notes || '',
             departmentId: item.departmentId || '',
             maintenanceTeamId: item.maintenanceTeamId || '',
@@ -185,7 +203,6 @@ function Equipment() {
             category: '',
             location: '',
             status: 'ACTIVE',
-            healthScore: 100,
             notes: '',
             departmentId: '',
             maintenanceTeamId: '',
@@ -500,17 +517,6 @@ function Equipment() {
                                         <option value="SCRAPPED">Scrapped</option>
                                     </select>
                                 </div>
-                                <div className="col-span-2">
-                                    <label className="form-label">Health Score: {formData.healthScore}%</label>
-                                    <input
-                                        type="range"
-                                        min="0"
-                                        max="100"
-                                        value={formData.healthScore}
-                                        onChange={(e) => setFormData({ ...formData, healthScore: parseInt(e.target.value) })}
-                                        className="w-full h-2 bg-gray-200 rounded-lg appearance-none cursor-pointer dark:bg-slate-700"
-                                    />
-                                </div>
                                 <div className="col-span-2">
                                     <label className="form-label">Notes</label>
                                     <textarea
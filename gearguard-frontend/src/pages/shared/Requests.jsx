@@ -6,8 +6,10 @@ import toast from 'react-hot-toast';
 import { requestApi } from '../../api/requestApi';
 import api from '../../api/axios';
 import ConfirmDialog from '../../components/common/ConfirmDialog';
+import { useAuth } from '../../context/AuthContext';
 
 function Requests() {
+    const { takeBootstrap } = useAuth();
     const columns = {
         NEW: { title: 'New', color: '#6366f1', bgColor: 'bg-indigo-50 dark:bg-indigo-900/20' },
         IN_PROGRESS: { title: 'In Progress', color: '#f59e0b', bgColor: 'bg-amber-50 dark:bg-amber-900/20' },
@@ -34,10 +36,11 @@ function Requests() {
 
     const fetchData = async () => {
         try {
+            const preloadedTeams = takeBootstrap('teams');
             const [requestsRes, equipmentRes, teamsRes, usersRes] = await Promise.all([
                 requestApi.getAll(),
                 api.get('/equipment'),
-                api.get('/teams'),
+                preloadedTeams ? { data: preloadedTeams } : api.get('/teams'),
                 api.get('/auth/users')
             ]);
             setRequests(requestsRes.data);
@@ -55,18 +58,23 @@ function Requests() {
         const { destination, source, draggableId } = result;
         if (!destination || destination.droppableId === source.droppableId) return;
 
+        const moved = requests.find(req => req.id.toString() === draggableId);
+
         // Optimistic update
         setRequests(prev => prev.map(req =>
             req.id.toString() === draggableId ? { ...req, stage: destination.droppableId } : req
         ));
 
         try {
-            await requestApi.updateStage(parseInt(draggableId), destination.droppableId);
+            const { data } = await requestApi.updateStage(parseInt(draggableId), destination.droppableId, moved?.version);
+            setRequests(prev => prev.map(req => (req.id === data.id ? data : req)));
             toast.success(`Request moved to ${columns[destination.droppableId].title}`);
         } catch (error) {
             // Revert on error
             fetchData();
-            toast.error('Failed to update status');
+            toast.error(error.response?.status === 409
+                ? error.response.data?.message || 'Request was changed by someone else'
+                : 'Failed to update status');
         }
     };
 
@@ -82,7 +90,7 @@ function Requests() {
             };
 
             if (editingRequest) {
-                await requestApi.update(editingRequest.id, submitData);
+                await requestApi.update(editingRequest.id, submitData, editingRequest.version);
                 toast.success('Request updated');
             } else {
                 await requestApi.create(submitData);
@@ -93,6 +101,11 @@ function Requests() {
             fetchData();
         } catch (error) {
             toast.error(error.response?.data?.message || 'Operation failed');
+            if (error.response?.status === 409 && error.response.data?.current) {
+                // Saving again applies this form over the latest version
+                setEditingRequest(error.response.data.current);
+                fetchData();
+            }
         }
     };
 
@@ -46,13 +46,16 @@ function TechnicianDashboard() {
         }
     };
 
-    const handleUpdateStage = async (jobId, newStage) => {
+    const handleUpdateStage = async (jobId, newStage, version) => {
         try {
-            await requestApi.updateStage(jobId, newStage);
+            await requestApi.updateStage(jobId, newStage, version);
             toast.success(`Job updated to ${newStage.replace('_', ' ')}`);
             fetchMyJobs();
         } catch (error) {
-            toast.error('Failed to update job');
+            toast.error(error.response?.data?.message || 'Failed to update job');
+            if (error.response?.status === 409) {
+                fetchMyJobs();
+            }
         }
     };
 
@@ -143,12 +146,12 @@ function TechnicianDashboard() {
                                         <span className={`badge ${getPriorityColor(job.priority)}`}>{job.priority}</span>
                                         <span className={`badge ${getStatusColor(job.stage)}`}>{job.stage?.replace('_', ' ')}</span>
                                         {job.stage === 'NEW' && (
-                                            <button onClick={() => handleUpdateStage(job.id, 'IN_PROGRESS')} className="btn-primary text-sm py-1.5 px-3">
+                                            <button onClick={() => handleUpdateStage(job.id, 'IN_PROGRESS', job.version)} className="btn-primary text-sm py-1.5 px-3">
                                                 Start
                                             </button>
                                         )}
                                         {job.stage === 'IN_PROGRESS' && (
-                                            <button onClick={() => handleUpdateStage(job.id, 'REPAIRED')} className="btn-primary text-sm py-1.5 px-3">
+                                            <button onClick={() => handleUpdateStage(job.id, 'REPAIRED', job.version)} className="btn-primary text-sm py-1.5 px-3">
                                                 Complete
                                             </button>
                                         )}